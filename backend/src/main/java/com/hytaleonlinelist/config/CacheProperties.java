@@ -0,0 +1,97 @@
+package com.hytaleonlinelist.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuration for the in-memory read caches in front of public server endpoints,
+ * and for the authenticated principal cache.
+ */
+@Component
+@ConfigurationProperties(prefix = "cache")
+public class CacheProperties {
+
+    private boolean enabled = true;
+    private long listingMaxWeightBytes = 32L * 1024 * 1024;
+    private long detailMaxWeightBytes = 32L * 1024 * 1024;
+    private long fragmentMaxWeightBytes = 64L * 1024 * 1024;
+    private Duration listingTtl = Duration.ofMinutes(5);
+    private Duration detailTtl = Duration.ofMinutes(10);
+    private long reviewFirstPageMaxEntries = 10_000;
+    private long principalMaxEntries = 50_000;
+    private Duration principalTtl = Duration.ofSeconds(30);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getListingMaxWeightBytes() {
+        return listingMaxWeightBytes;
+    }
+
+    public void setListingMaxWeightBytes(long listingMaxWeightBytes) {
+        this.listingMaxWeightBytes = listingMaxWeightBytes;
+    }
+
+    public long getDetailMaxWeightBytes() {
+        return detailMaxWeightBytes;
+    }
+
+    public void setDetailMaxWeightBytes(long detailMaxWeightBytes) {
+        this.detailMaxWeightBytes = detailMaxWeightBytes;
+    }
+
+    public long getFragmentMaxWeightBytes() {
+        return fragmentMaxWeightBytes;
+    }
+
+    public void setFragmentMaxWeightBytes(long fragmentMaxWeightBytes) {
+        this.fragmentMaxWeightBytes = fragmentMaxWeightBytes;
+    }
+
+    public Duration getListingTtl() {
+        return listingTtl;
+    }
+
+    public void setListingTtl(Duration listingTtl) {
+        this.listingTtl = listingTtl;
+    }
+
+    public Duration getDetailTtl() {
+        return detailTtl;
+    }
+
+    public void setDetailTtl(Duration detailTtl) {
+        this.detailTtl = detailTtl;
+    }
+
+    public long getReviewFirstPageMaxEntries() {
+        return reviewFirstPageMaxEntries;
+    }
+
+    public void setReviewFirstPageMaxEntries(long reviewFirstPageMaxEntries) {
+        this.reviewFirstPageMaxEntries = reviewFirstPageMaxEntries;
+    }
+
+    public long getPrincipalMaxEntries() {
+        return principalMaxEntries;
+    }
+
+    public void setPrincipalMaxEntries(long principalMaxEntries) {
+        this.principalMaxEntries = principalMaxEntries;
+    }
+
+    public Duration getPrincipalTtl() {
+        return principalTtl;
+    }
+
+    public void setPrincipalTtl(Duration principalTtl) {
+        this.principalTtl = principalTtl;
+    }
+}
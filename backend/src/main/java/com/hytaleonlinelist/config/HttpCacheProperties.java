@@ -0,0 +1,98 @@
+package com.hytaleonlinelist.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.http.CacheControl;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Cache-Control policies for public read endpoints, configurable per endpoint.
+ * Endpoints without an entry fall back to the default policy.
+ */
+@Component
+@ConfigurationProperties(prefix = "http-cache")
+public class HttpCacheProperties {
+
+    private Policy defaults = new Policy();
+    private Map<String, Policy> endpoints = new HashMap<>();
+
+    /**
+     * Builds the Cache-Control header for the named endpoint.
+     */
+    public CacheControl cacheControl(String endpoint) {
+        return endpoints.getOrDefault(endpoint, defaults).toCacheControl();
+    }
+
+    public Policy getDefaults() {
+        return defaults;
+    }
+
+    public void setDefaults(Policy defaults) {
+        this.defaults = defaults;
+    }
+
+    public Map<String, Policy> getEndpoints() {
+        return endpoints;
+    }
+
+    public void setEndpoints(Map<String, Policy> endpoints) {
+        this.endpoints = endpoints;
+    }
+
+    public static class Policy {
+
+        private Duration maxAge = Duration.ZERO;
+        private Duration sharedMaxAge;
+        private Duration staleWhileRevalidate;
+        private Duration staleIfError;
+
+        CacheControl toCacheControl() {
+            CacheControl cacheControl = CacheControl.maxAge(maxAge).cachePublic();
+            if (sharedMaxAge != null) {
+                cacheControl = cacheControl.sMaxAge(sharedMaxAge);
+            }
+            if (staleWhileRevalidate != null) {
+                cacheControl = cacheControl.staleWhileRevalidate(staleWhileRevalidate);
+            }
+            if (staleIfError != null) {
+                cacheControl = cacheControl.staleIfError(staleIfError);
+            }
+            return cacheControl;
+        }
+
+        public Duration getMaxAge() {
+            return maxAge;
+        }
+
+        public void setMaxAge(Duration maxAge) {
+            this.maxAge = maxAge;
+        }
+
+        public Duration getSharedMaxAge() {
+            return sharedMaxAge;
+        }
+
+        public void setSharedMaxAge(Duration sharedMaxAge) {
+            this.sharedMaxAge = sharedMaxAge;
+        }
+
+        public Duration getStaleWhileRevalidate() {
+            return staleWhileRevalidate;
+        }
+
+        public void setStaleWhileRevalidate(Duration staleWhileRevalidate) {
+            this.staleWhileRevalidate = staleWhileRevalidate;
+        }
+
+        public Duration getStaleIfError() {
+            return staleIfError;
+        }
+
+        public void setStaleIfError(Duration staleIfError) {
+            this.staleIfError = staleIfError;
+        }
+    }
+}
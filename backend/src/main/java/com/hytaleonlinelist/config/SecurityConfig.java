@@ -1,6 +1,8 @@
 package com.hytaleonlinelist.config;
 
+import com.hytaleonlinelist.security.BoundedPasswordEncoder;
 import com.hytaleonlinelist.security.JwtAuthenticationFilter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -60,6 +62,8 @@ public class SecurityConfig {
                 .requestMatchers("/oauth2/**").permitAll()
 
                 // ========== Public GET Endpoints ==========
+                // Claim verification jobs belong to a user (must precede the public servers rule)
+                .requestMatchers(HttpMethod.GET, "/api/servers/*/claim/verify/**").authenticated()
                 .requestMatchers(HttpMethod.GET, "/api/servers/**").permitAll()
                 .requestMatchers(HttpMethod.GET, "/api/categories/**").permitAll()
                 .requestMatchers(HttpMethod.GET, "/api/stats/**").permitAll()
@@ -108,7 +112,21 @@ public class SecurityConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${security.password-hashing.threads:0}") int threads,
+            @Value("${security.password-hashing.queue-capacity:4}") int queueCapacity,
+            @Value("${security.password-hashing.retry-after-seconds:5}") long retryAfterSeconds,
+            @Value("${security.password-hashing.bcrypt-strength:10}") int strength,
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int maximumPoolSize,
+            MeterRegistry meterRegistry) {
+        // Every caller waiting on a hash may hold a JDBC connection (its transaction or the
+        // open-in-view session), so at most half the pool waits on hashing and the rest is shed
+        int maxInFlight = Math.max(2, maximumPoolSize / 2);
+        // Default to half the cores so hashing never takes the whole machine
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        poolSize = Math.min(poolSize, maxInFlight - 1);
+        int queueSize = Math.max(1, Math.min(queueCapacity, maxInFlight - poolSize));
+        return new BoundedPasswordEncoder(
+                new BCryptPasswordEncoder(strength), poolSize, queueSize, retryAfterSeconds, meterRegistry);
     }
 }
@@ -9,6 +9,7 @@ import com.hytaleonlinelist.dto.response.AuthResponse;
 import com.hytaleonlinelist.dto.response.MessageResponse;
 import com.hytaleonlinelist.dto.response.RegistrationStatusResponse;
 import com.hytaleonlinelist.exception.BadRequestException;
+import com.hytaleonlinelist.security.RateLimited;
 import com.hytaleonlinelist.security.UserPrincipal;
 import com.hytaleonlinelist.service.AuthService;
 import jakarta.servlet.http.Cookie;
@@ -43,6 +44,8 @@ public class AuthController {
     }
 
     @PostMapping("/register")
+    @RateLimited(name = "auth-register", capacity = 5, periodSeconds = 3600,
+            message = "Too many registrations from this network. Please try again later.")
     public ResponseEntity<AuthResponse> register(
             @Valid @RequestBody RegisterRequest request,
             HttpServletResponse response) {
@@ -54,6 +57,8 @@ public class AuthController {
     }
 
     @PostMapping("/login")
+    @RateLimited(name = "auth-login", capacity = 10, periodSeconds = 60,
+            message = "Too many login attempts. Please wait a minute and try again.")
     public ResponseEntity<AuthResponse> login(
             @Valid @RequestBody LoginRequest request,
             HttpServletResponse response) {
@@ -76,6 +81,7 @@ public class AuthController {
     }
 
     @PostMapping("/refresh")
+    @RateLimited(name = "auth-refresh", capacity = 30, periodSeconds = 60)
     public ResponseEntity<AuthResponse> refresh(
             HttpServletRequest request,
             HttpServletResponse response) {
@@ -95,12 +101,15 @@ public class AuthController {
     }
 
     @PostMapping("/verify-email")
+    @RateLimited(name = "auth-verify-email", capacity = 10, periodSeconds = 600)
     public ResponseEntity<MessageResponse> verifyEmail(@RequestParam String token) {
         authService.verifyEmail(token);
         return ResponseEntity.ok(new MessageResponse("Email verified successfully"));
     }
 
     @PostMapping("/resend-verification")
+    @RateLimited(name = "auth-resend-verification", capacity = 3, periodSeconds = 3600, key = RateLimited.Key.USER,
+            message = "Too many verification emails requested. Please try again later.")
     public ResponseEntity<MessageResponse> resendVerification(
             @AuthenticationPrincipal UserPrincipal principal) {
         if (principal == null) {
@@ -111,6 +120,8 @@ public class AuthController {
     }
 
     @PostMapping("/forgot-password")
+    @RateLimited(name = "auth-password-reset", capacity = 5, periodSeconds = 3600,
+            message = "Too many password reset requests. Please try again later.")
     public ResponseEntity<MessageResponse> forgotPassword(
             @Valid @RequestBody ForgotPasswordRequest request) {
         authService.forgotPassword(request.email());
@@ -119,6 +130,8 @@ public class AuthController {
     }
 
     @PostMapping("/reset-password")
+    @RateLimited(name = "auth-password-reset", capacity = 5, periodSeconds = 3600,
+            message = "Too many password reset requests. Please try again later.")
     public ResponseEntity<MessageResponse> resetPassword(
             @Valid @RequestBody ResetPasswordRequest request) {
         authService.resetPassword(request.token(), request.password());
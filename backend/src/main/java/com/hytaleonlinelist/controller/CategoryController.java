@@ -1,26 +1,53 @@
 package com.hytaleonlinelist.controller;
 
+import com.hytaleonlinelist.config.HttpCacheProperties;
 import com.hytaleonlinelist.dto.response.CategoryResponse;
 import com.hytaleonlinelist.service.CategoryService;
+import com.hytaleonlinelist.service.cache.ServerCacheVersions;
+import com.hytaleonlinelist.service.cache.ServerReadCache;
+import com.hytaleonlinelist.util.JsonResponses;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-
-import java.util.List;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/categories")
 public class CategoryController {
 
     private final CategoryService categoryService;
+    private final ServerReadCache serverReadCache;
+    private final ServerCacheVersions cacheVersions;
+    private final HttpCacheProperties httpCache;
 
-    public CategoryController(CategoryService categoryService) {
+    public CategoryController(CategoryService categoryService,
+                              ServerReadCache serverReadCache,
+                              ServerCacheVersions cacheVersions,
+                              HttpCacheProperties httpCache) {
         this.categoryService = categoryService;
+        this.serverReadCache = serverReadCache;
+        this.cacheVersions = cacheVersions;
+        this.httpCache = httpCache;
     }
 
     @GetMapping
-    public ResponseEntity<List<CategoryResponse>> getAllCategories() {
-        List<CategoryResponse> categories = categoryService.getAllCategories();
-        return ResponseEntity.ok(categories);
+    public ResponseEntity<byte[]> getAllCategories(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest request) {
+        CacheControl cacheControl = httpCache.cacheControl("categories");
+        // Server counts per category move with the listing generation
+        String etag = JsonResponses.etag("categories-" + cacheVersions.generationTag(), acceptEncoding);
+        long lastModified = cacheVersions.lastModified();
+
+        ResponseEntity<byte[]> notModified = JsonResponses.notModified(request, etag, lastModified, cacheControl);
+        if (notModified != null) {
+            return notModified;
+        }
+
+        // Pre-serialized List<CategoryResponse>
+        return JsonResponses.ok(serverReadCache.getAllCategories(), etag, lastModified, acceptEncoding,
+                cacheControl);
     }
 
     @GetMapping("/{slug}")
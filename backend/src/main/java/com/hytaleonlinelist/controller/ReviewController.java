@@ -6,6 +6,7 @@ import com.hytaleonlinelist.domain.repository.UserRepository;
 import com.hytaleonlinelist.dto.request.CreateReviewRequest;
 import com.hytaleonlinelist.dto.request.UpdateReviewRequest;
 import com.hytaleonlinelist.dto.response.PaginatedResponse;
+import com.hytaleonlinelist.dto.response.ReviewFeedResponse;
 import com.hytaleonlinelist.dto.response.ReviewResponse;
 import com.hytaleonlinelist.exception.ResourceNotFoundException;
 import com.hytaleonlinelist.security.EmailVerified;
@@ -53,6 +54,21 @@ public class ReviewController {
         return ResponseEntity.ok(reviews);
     }
 
+    /**
+     * Get reviews for a server (public, cursor-paginated, newest first)
+     */
+    @GetMapping("/server/{serverId}/feed")
+    public ResponseEntity<ReviewFeedResponse> getServerReviewFeed(
+            @PathVariable UUID serverId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @AuthenticationPrincipal UserPrincipal principal) {
+
+        UUID currentUserId = principal != null ? principal.id() : null;
+        int limit = Math.max(1, Math.min(size, 50));
+        return ResponseEntity.ok(reviewService.getReviewFeed(serverId, cursor, limit, currentUserId));
+    }
+
     /**
      * Get current user's review for a server
      */
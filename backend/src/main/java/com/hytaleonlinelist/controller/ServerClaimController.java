@@ -4,10 +4,12 @@ import com.hytaleonlinelist.domain.entity.VerificationMethod;
 import com.hytaleonlinelist.dto.request.InitiateClaimRequest;
 import com.hytaleonlinelist.dto.response.ClaimInitiatedResponse;
 import com.hytaleonlinelist.dto.response.ClaimStatusResponse;
+import com.hytaleonlinelist.dto.response.ClaimVerificationJobResponse;
 import com.hytaleonlinelist.dto.response.MessageResponse;
-import com.hytaleonlinelist.dto.response.VerificationResultResponse;
 import com.hytaleonlinelist.security.EmailVerified;
+import com.hytaleonlinelist.security.RateLimited;
 import com.hytaleonlinelist.security.UserPrincipal;
+import com.hytaleonlinelist.service.ClaimVerificationJobService;
 import com.hytaleonlinelist.service.ServerClaimService;
 import com.hytaleonlinelist.service.ServerClaimService.VerificationMethodInfo;
 import jakarta.validation.Valid;
@@ -26,9 +28,12 @@ import java.util.UUID;
 public class ServerClaimController {
 
     private final ServerClaimService claimService;
+    private final ClaimVerificationJobService verificationJobService;
 
-    public ServerClaimController(ServerClaimService claimService) {
+    public ServerClaimController(ServerClaimService claimService,
+                                 ClaimVerificationJobService verificationJobService) {
         this.claimService = claimService;
+        this.verificationJobService = verificationJobService;
     }
 
     /**
@@ -62,6 +67,7 @@ public class ServerClaimController {
      */
     @PostMapping("/initiate")
     @EmailVerified
+    @RateLimited(name = "claim-initiate", capacity = 10, periodSeconds = 3600, key = RateLimited.Key.USER)
     public ResponseEntity<ClaimInitiatedResponse> initiateClaim(
             @PathVariable UUID serverId,
             @Valid @RequestBody InitiateClaimRequest request,
@@ -72,18 +78,35 @@ public class ServerClaimController {
     }
 
     /**
-     * Attempt to verify a server claim.
+     * Start verifying a server claim.
      * Requires authentication and verified email.
+     * Returns 202 with a job to poll at /verify/{jobId}.
      */
     @PostMapping("/verify")
     @EmailVerified
-    public ResponseEntity<VerificationResultResponse> attemptVerification(
+    @RateLimited(name = "claim-verify-hourly", capacity = 5, periodSeconds = 3600, key = RateLimited.Key.USER,
+            message = "Too many verification attempts. Please wait before trying again. (Limit: 5 per hour)")
+    @RateLimited(name = "claim-verify-daily", capacity = 20, periodSeconds = 86400, key = RateLimited.Key.USER,
+            message = "Daily verification attempt limit reached. Please try again tomorrow. (Limit: 20 per day)")
+    public ResponseEntity<ClaimVerificationJobResponse> attemptVerification(
             @PathVariable UUID serverId,
             @RequestParam VerificationMethod method,
             @AuthenticationPrincipal UserPrincipal principal) {
-        VerificationResultResponse response = claimService.attemptVerification(
+        ClaimVerificationJobResponse job = verificationJobService.submit(
                 serverId, principal.id(), method);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.accepted().body(job);
+    }
+
+    /**
+     * Poll a verification job started by the current user on this server.
+     * Requires authentication (see SecurityConfig; the rest of GET /api/servers is public).
+     */
+    @GetMapping("/verify/{jobId}")
+    public ResponseEntity<ClaimVerificationJobResponse> getVerificationJob(
+            @PathVariable UUID serverId,
+            @PathVariable UUID jobId,
+            @AuthenticationPrincipal UserPrincipal principal) {
+        return ResponseEntity.ok(verificationJobService.getJob(serverId, jobId, principal.id()));
     }
 
     /**
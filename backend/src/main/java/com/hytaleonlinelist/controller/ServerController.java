@@ -1,22 +1,32 @@
 package com.hytaleonlinelist.controller;
 
+import com.hytaleonlinelist.config.HttpCacheProperties;
 import com.hytaleonlinelist.domain.entity.UserEntity;
 import com.hytaleonlinelist.domain.repository.UserRepository;
 import com.hytaleonlinelist.dto.request.CreateServerRequest;
 import com.hytaleonlinelist.dto.request.UpdateServerRequest;
 import com.hytaleonlinelist.dto.response.MessageResponse;
-import com.hytaleonlinelist.dto.response.PaginatedResponse;
 import com.hytaleonlinelist.dto.response.ServerResponse;
 import com.hytaleonlinelist.exception.ResourceNotFoundException;
 import com.hytaleonlinelist.security.EmailVerified;
 import com.hytaleonlinelist.security.UserPrincipal;
 import com.hytaleonlinelist.service.ServerService;
+import com.hytaleonlinelist.service.ServerViewCounter;
+import com.hytaleonlinelist.service.cache.ServerCacheVersions;
+import com.hytaleonlinelist.service.cache.ServerReadCache;
+import com.hytaleonlinelist.service.cache.ServerReadCache.CachedServer;
+import com.hytaleonlinelist.service.ranking.ServerRankingService;
+import com.hytaleonlinelist.util.JsonResponses;
 import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @RestController
@@ -24,38 +34,106 @@ import java.util.UUID;
 public class ServerController {
 
     private final ServerService serverService;
+    private final ServerReadCache serverReadCache;
+    private final ServerViewCounter viewCounter;
+    private final ServerCacheVersions cacheVersions;
+    private final ServerRankingService rankingService;
+    private final HttpCacheProperties httpCache;
     private final UserRepository userRepository;
 
-    public ServerController(ServerService serverService, UserRepository userRepository) {
+    public ServerController(ServerService serverService,
+                            ServerReadCache serverReadCache,
+                            ServerViewCounter viewCounter,
+                            ServerCacheVersions cacheVersions,
+                            ServerRankingService rankingService,
+                            HttpCacheProperties httpCache,
+                            UserRepository userRepository) {
         this.serverService = serverService;
+        this.serverReadCache = serverReadCache;
+        this.viewCounter = viewCounter;
+        this.cacheVersions = cacheVersions;
+        this.rankingService = rankingService;
+        this.httpCache = httpCache;
         this.userRepository = userRepository;
     }
 
+    // Public reads return pre-serialized JSON (PaginatedResponse<ServerResponse> / ServerResponse)
+
     @GetMapping
-    public ResponseEntity<PaginatedResponse<ServerResponse>> getServers(
+    public ResponseEntity<byte[]> getServers(
             @RequestParam(required = false) String sort,
             @RequestParam(required = false) String category,
             @RequestParam(required = false) String search,
             @RequestParam(required = false) Boolean online,
             @RequestParam(defaultValue = "1") int page,
-            @RequestParam(defaultValue = "20") int limit) {
-
-        PaginatedResponse<ServerResponse> response = serverService.getServers(
-                sort, category, search, online, page, limit
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest request) {
+        CacheControl cacheControl = httpCache.cacheControl("servers");
+        // The snapshot covers order changes (trending drift, day rollover) that bump nothing;
+        // weak because view counts in the body are flushed without a bump
+        String etag = JsonResponses.weakEtag(
+                "servers-" + cacheVersions.generationTag() + "-" + rankingService.snapshotId(), acceptEncoding);
+        long lastModified = cacheVersions.lastModified();
+
+        ResponseEntity<byte[]> notModified = JsonResponses.notModified(request, etag, lastModified, cacheControl);
+        if (notModified != null) {
+            return notModified;
+        }
+
+        return JsonResponses.ok(
+                serverReadCache.getServers(sort, category, search, online, page, limit),
+                etag,
+                lastModified,
+                acceptEncoding,
+                cacheControl
         );
-        return ResponseEntity.ok(response);
     }
 
     @GetMapping("/{slug}")
-    public ResponseEntity<ServerResponse> getServerBySlug(@PathVariable String slug) {
-        ServerResponse server = serverService.getServerBySlugAndIncrementViews(slug);
-        return ResponseEntity.ok(server);
+    public ResponseEntity<byte[]> getServerBySlug(
+            @PathVariable String slug,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest request) {
+        CacheControl cacheControl = httpCache.cacheControl("server-detail");
+
+        // A slug seen before can be revalidated without loading the server
+        Optional<UUID> knownId = serverReadCache.cachedServerId(slug);
+        if (knownId.isPresent()) {
+            ResponseEntity<byte[]> notModified = JsonResponses.notModified(
+                    request, serverEtag(knownId.get(), acceptEncoding), -1, cacheControl);
+            if (notModified != null) {
+                viewCounter.recordView(knownId.get());
+                return notModified;
+            }
+        }
+
+        CachedServer server = serverReadCache.getServerBySlug(slug);
+        viewCounter.recordView(server.serverId());
+        String etag = serverEtag(server.serverId(), acceptEncoding);
+        if (knownId.isEmpty()) {
+            ResponseEntity<byte[]> notModified = JsonResponses.notModified(request, etag, -1, cacheControl);
+            if (notModified != null) {
+                return notModified;
+            }
+        }
+        return JsonResponses.ok(server.body(), etag, -1, acceptEncoding, cacheControl);
     }
 
     @GetMapping("/featured")
-    public ResponseEntity<List<ServerResponse>> getFeaturedServers() {
-        List<ServerResponse> servers = serverService.getFeaturedServers();
-        return ResponseEntity.ok(servers);
+    public ResponseEntity<byte[]> getFeaturedServers(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest request) {
+        CacheControl cacheControl = httpCache.cacheControl("featured");
+        String etag = JsonResponses.weakEtag("featured-" + cacheVersions.generationTag(), acceptEncoding);
+        long lastModified = cacheVersions.lastModified();
+
+        ResponseEntity<byte[]> notModified = JsonResponses.notModified(request, etag, lastModified, cacheControl);
+        if (notModified != null) {
+            return notModified;
+        }
+        return JsonResponses.ok(serverReadCache.getFeaturedServers(), etag, lastModified, acceptEncoding,
+                cacheControl);
     }
 
     @GetMapping("/my-servers")
@@ -112,4 +190,11 @@ public class ServerController {
         serverService.deleteServer(id, owner);
         return ResponseEntity.ok(new MessageResponse("Server deleted successfully"));
     }
+
+    /**
+     * Weak: the body carries the view count, which is flushed without bumping the version.
+     */
+    private String serverEtag(UUID serverId, String acceptEncoding) {
+        return JsonResponses.weakEtag("server-" + cacheVersions.serverTag(serverId), acceptEncoding);
+    }
 }
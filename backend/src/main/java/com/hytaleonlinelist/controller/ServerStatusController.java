@@ -1,10 +1,15 @@
 package com.hytaleonlinelist.controller;
 
+import com.hytaleonlinelist.config.HttpCacheProperties;
 import com.hytaleonlinelist.dto.response.ServerStatusHistoryResponse;
 import com.hytaleonlinelist.dto.response.ServerUptimeResponse;
 import com.hytaleonlinelist.service.ServerStatusService;
+import com.hytaleonlinelist.service.cache.ServerCacheVersions;
+import com.hytaleonlinelist.util.JsonResponses;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.UUID;
@@ -16,10 +21,19 @@ import java.util.UUID;
 @RequestMapping("/api/servers/{serverId}/status")
 public class ServerStatusController {
 
+    // Uptime windows slide with time, so validators also roll over once per poll interval
+    private static final long WINDOW_BUCKET_MILLIS = 60_000;
+
     private final ServerStatusService statusService;
+    private final ServerCacheVersions cacheVersions;
+    private final HttpCacheProperties httpCache;
 
-    public ServerStatusController(ServerStatusService statusService) {
+    public ServerStatusController(ServerStatusService statusService,
+                                  ServerCacheVersions cacheVersions,
+                                  HttpCacheProperties httpCache) {
         this.statusService = statusService;
+        this.cacheVersions = cacheVersions;
+        this.httpCache = httpCache;
     }
 
     /**
@@ -27,8 +41,20 @@ public class ServerStatusController {
      * Includes 24h and 7d uptime percentages, average response time
      */
     @GetMapping("/uptime")
-    public ResponseEntity<ServerUptimeResponse> getUptime(@PathVariable UUID serverId) {
-        return ResponseEntity.ok(statusService.getUptimeStats(serverId));
+    public ResponseEntity<ServerUptimeResponse> getUptime(@PathVariable UUID serverId, WebRequest request) {
+        CacheControl cacheControl = httpCache.cacheControl("server-status");
+        String etag = statusEtag("uptime", serverId);
+
+        ResponseEntity<ServerUptimeResponse> notModified =
+                JsonResponses.notModified(request, etag, -1, cacheControl);
+        if (notModified != null) {
+            return notModified;
+        }
+
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .body(statusService.getUptimeStats(serverId));
     }
 
     /**
@@ -40,8 +66,29 @@ public class ServerStatusController {
     @GetMapping("/history")
     public ResponseEntity<List<ServerStatusHistoryResponse>> getHistory(
         @PathVariable UUID serverId,
-        @RequestParam(defaultValue = "24") int hours
+        @RequestParam(defaultValue = "24") int hours,
+        WebRequest request
     ) {
-        return ResponseEntity.ok(statusService.getStatusHistory(serverId, hours));
+        CacheControl cacheControl = httpCache.cacheControl("server-status");
+        String etag = statusEtag("history-" + hours, serverId);
+
+        ResponseEntity<List<ServerStatusHistoryResponse>> notModified =
+                JsonResponses.notModified(request, etag, -1, cacheControl);
+        if (notModified != null) {
+            return notModified;
+        }
+
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .body(statusService.getStatusHistory(serverId, hours));
+    }
+
+    /**
+     * Every poll of the server bumps its version; the time bucket covers points leaving the window.
+     */
+    private String statusEtag(String view, UUID serverId) {
+        long bucket = System.currentTimeMillis() / WINDOW_BUCKET_MILLIS;
+        return "\"" + view + "-" + cacheVersions.serverTag(serverId) + "-" + bucket + "\"";
     }
 }
@@ -1,23 +1,52 @@
 package com.hytaleonlinelist.controller;
 
+import com.hytaleonlinelist.config.HttpCacheProperties;
 import com.hytaleonlinelist.dto.response.StatsResponse;
 import com.hytaleonlinelist.service.StatsService;
+import com.hytaleonlinelist.service.cache.ServerCacheVersions;
+import com.hytaleonlinelist.util.JsonResponses;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/stats")
 public class StatsController {
 
     private final StatsService statsService;
+    private final ServerCacheVersions cacheVersions;
+    private final HttpCacheProperties httpCache;
 
-    public StatsController(StatsService statsService) {
+    public StatsController(StatsService statsService,
+                           ServerCacheVersions cacheVersions,
+                           HttpCacheProperties httpCache) {
         this.statsService = statsService;
+        this.cacheVersions = cacheVersions;
+        this.httpCache = httpCache;
     }
 
+    /**
+     * Platform totals. Every input (servers, players, votes, reviews) bumps the
+     * listing generation, so it doubles as the validator and a 304 skips all counts.
+     */
     @GetMapping
-    public ResponseEntity<StatsResponse> getPlatformStats() {
+    public ResponseEntity<StatsResponse> getPlatformStats(WebRequest request) {
+        CacheControl cacheControl = httpCache.cacheControl("stats");
+        String etag = "\"stats-" + cacheVersions.generationTag() + "\"";
+        long lastModified = cacheVersions.lastModified();
+
+        ResponseEntity<StatsResponse> notModified = JsonResponses.notModified(
+                request, etag, lastModified, cacheControl);
+        if (notModified != null) {
+            return notModified;
+        }
+
         StatsResponse stats = statsService.getPlatformStats();
-        return ResponseEntity.ok(stats);
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .lastModified(lastModified)
+                .cacheControl(cacheControl)
+                .body(stats);
     }
 }
@@ -2,6 +2,7 @@ package com.hytaleonlinelist.controller;
 
 import com.hytaleonlinelist.dto.response.UploadResponse;
 import com.hytaleonlinelist.security.EmailVerified;
+import com.hytaleonlinelist.security.RateLimited;
 import com.hytaleonlinelist.security.UserPrincipal;
 import com.hytaleonlinelist.service.FileUploadService;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -44,6 +45,7 @@ public class UploadController {
      */
     @PostMapping("/icon")
     @EmailVerified
+    @RateLimited(name = "upload", capacity = 20, periodSeconds = 3600, key = RateLimited.Key.USER)
     public ResponseEntity<UploadResponse> uploadIcon(
             @RequestParam("file") MultipartFile file,
             @RequestParam(value = "serverSlug", required = false) String serverSlug,
@@ -62,6 +64,7 @@ public class UploadController {
      */
     @PostMapping("/banner")
     @EmailVerified
+    @RateLimited(name = "upload", capacity = 20, periodSeconds = 3600, key = RateLimited.Key.USER)
     public ResponseEntity<UploadResponse> uploadBanner(
             @RequestParam("file") MultipartFile file,
             @RequestParam(value = "serverSlug", required = false) String serverSlug,
@@ -78,6 +81,7 @@ public class UploadController {
      * @return The uploaded file URL and metadata
      */
     @PostMapping("/avatar")
+    @RateLimited(name = "upload", capacity = 20, periodSeconds = 3600, key = RateLimited.Key.USER)
     public ResponseEntity<UploadResponse> uploadAvatar(
             @RequestParam("file") MultipartFile file,
             @AuthenticationPrincipal UserPrincipal principal) throws IOException {
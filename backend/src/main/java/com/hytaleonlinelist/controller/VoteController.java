@@ -3,21 +3,30 @@ package com.hytaleonlinelist.controller;
 import com.hytaleonlinelist.domain.entity.UserEntity;
 import com.hytaleonlinelist.domain.repository.UserRepository;
 import com.hytaleonlinelist.dto.response.VoteResponse;
+import com.hytaleonlinelist.dto.response.VoteStatusBatchResponse;
 import com.hytaleonlinelist.dto.response.VoteStatusResponse;
+import com.hytaleonlinelist.exception.BadRequestException;
 import com.hytaleonlinelist.exception.ResourceNotFoundException;
 import com.hytaleonlinelist.security.EmailVerified;
+import com.hytaleonlinelist.security.RateLimited;
 import com.hytaleonlinelist.security.UserPrincipal;
 import com.hytaleonlinelist.service.VoteService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/votes")
 public class VoteController {
 
+    private static final int MAX_STATUS_BATCH = 100;
+
     private final VoteService voteService;
     private final UserRepository userRepository;
 
@@ -28,6 +37,7 @@ public class VoteController {
 
     @PostMapping("/server/{serverId}")
     @EmailVerified
+    @RateLimited(name = "vote", capacity = 20, periodSeconds = 60, key = RateLimited.Key.USER)
     public ResponseEntity<VoteResponse> voteForServer(
             @PathVariable UUID serverId,
             @AuthenticationPrincipal UserPrincipal principal) {
@@ -47,4 +57,22 @@ public class VoteController {
         boolean hasVoted = voteService.hasVotedToday(serverId, principal.id());
         return ResponseEntity.ok(new VoteStatusResponse(hasVoted));
     }
+
+    /**
+     * Vote status for a page of servers in one call, e.g. ?serverIds=a,b,c
+     */
+    @GetMapping("/status")
+    public ResponseEntity<VoteStatusBatchResponse> getVoteStatuses(
+            @RequestParam List<UUID> serverIds,
+            @AuthenticationPrincipal UserPrincipal principal) {
+
+        if (serverIds.size() > MAX_STATUS_BATCH) {
+            throw new BadRequestException("At most " + MAX_STATUS_BATCH + " servers per request");
+        }
+
+        Map<String, Boolean> statuses = new LinkedHashMap<>();
+        voteService.getVotedToday(principal.id(), new LinkedHashSet<>(serverIds))
+                .forEach((serverId, voted) -> statuses.put(serverId.toString(), voted));
+        return ResponseEntity.ok(new VoteStatusBatchResponse(statuses));
+    }
 }
@@ -0,0 +1,39 @@
+package com.hytaleonlinelist.domain.entity;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Latest access token revocation of a user: tokens issued at or before {@code revokedAt} are rejected.
+ */
+@Entity
+@Table(name = "auth_revocations", indexes = {
+    @Index(name = "idx_auth_revocations_revoked_at", columnList = "revoked_at")
+})
+public class AuthRevocationEntity {
+
+    @Id
+    @Column(name = "user_id", updatable = false, nullable = false)
+    private UUID userId;
+
+    @Column(name = "revoked_at", nullable = false)
+    private Instant revokedAt;
+
+    // Getters and Setters
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public void setUserId(UUID userId) {
+        this.userId = userId;
+    }
+
+    public Instant getRevokedAt() {
+        return revokedAt;
+    }
+
+    public void setRevokedAt(Instant revokedAt) {
+        this.revokedAt = revokedAt;
+    }
+}
@@ -5,7 +5,9 @@ import java.time.Instant;
 import java.util.UUID;
 
 @Entity
-@Table(name = "refresh_tokens")
+@Table(name = "refresh_tokens", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_refresh_tokens_token_hash", columnNames = {"token_hash"})
+})
 public class RefreshTokenEntity {
 
     @Id
@@ -13,8 +15,11 @@ public class RefreshTokenEntity {
     @Column(name = "id", updatable = false, nullable = false)
     private UUID id;
 
-    @Column(name = "token", nullable = false, unique = true, length = 255)
-    private String token;
+    /**
+     * SHA-256 of the token; the plaintext only ever lives in the client's cookie.
+     */
+    @Column(name = "token_hash", nullable = false, length = 32)
+    private byte[] tokenHash;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
@@ -29,6 +34,9 @@ public class RefreshTokenEntity {
     @Column(name = "revoked", nullable = false)
     private boolean revoked = false;
 
+    @Column(name = "revoked_at")
+    private Instant revokedAt;
+
     @PrePersist
     protected void onCreate() {
         createdAt = Instant.now();
@@ -43,12 +51,12 @@ public class RefreshTokenEntity {
         this.id = id;
     }
 
-    public String getToken() {
-        return token;
+    public byte[] getTokenHash() {
+        return tokenHash;
     }
 
-    public void setToken(String token) {
-        this.token = token;
+    public void setTokenHash(byte[] tokenHash) {
+        this.tokenHash = tokenHash;
     }
 
     public UserEntity getUser() {
@@ -82,4 +90,12 @@ public class RefreshTokenEntity {
     public void setRevoked(boolean revoked) {
         this.revoked = revoked;
     }
+
+    public Instant getRevokedAt() {
+        return revokedAt;
+    }
+
+    public void setRevokedAt(Instant revokedAt) {
+        this.revokedAt = revokedAt;
+    }
 }
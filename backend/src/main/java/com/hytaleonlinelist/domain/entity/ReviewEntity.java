@@ -8,7 +8,8 @@ import java.util.UUID;
 @Table(name = "reviews", indexes = {
     @Index(name = "idx_reviews_server_id", columnList = "server_id"),
     @Index(name = "idx_reviews_user_id", columnList = "user_id"),
-    @Index(name = "idx_reviews_created_at", columnList = "created_at")
+    @Index(name = "idx_reviews_created_at", columnList = "created_at"),
+    @Index(name = "idx_reviews_server_created_id", columnList = "server_id, created_at DESC, id DESC")
 }, uniqueConstraints = {
     @UniqueConstraint(name = "uk_reviews_server_user", columnNames = {"server_id", "user_id"})
 })
@@ -0,0 +1,65 @@
+package com.hytaleonlinelist.domain.entity;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A server change made on one node, polled by the others to invalidate their read caches.
+ */
+@Entity
+@Table(name = "server_cache_changes", indexes = {
+    @Index(name = "idx_server_cache_changes_changed_at", columnList = "changed_at")
+})
+public class ServerCacheChangeEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", updatable = false, nullable = false)
+    private Long id;
+
+    @Column(name = "node", nullable = false, length = 32)
+    private String node;
+
+    /**
+     * Null when every server changed.
+     */
+    @Column(name = "server_id")
+    private UUID serverId;
+
+    @Column(name = "changed_at", nullable = false, insertable = false, updatable = false)
+    private Instant changedAt;
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getNode() {
+        return node;
+    }
+
+    public void setNode(String node) {
+        this.node = node;
+    }
+
+    public UUID getServerId() {
+        return serverId;
+    }
+
+    public void setServerId(UUID serverId) {
+        this.serverId = serverId;
+    }
+
+    public Instant getChangedAt() {
+        return changedAt;
+    }
+
+    public void setChangedAt(Instant changedAt) {
+        this.changedAt = changedAt;
+    }
+}
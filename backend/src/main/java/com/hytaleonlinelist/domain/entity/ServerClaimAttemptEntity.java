@@ -44,6 +44,12 @@ public class ServerClaimAttemptEntity {
     @Column(name = "attempted_at", nullable = false, updatable = false)
     private Instant attemptedAt;
 
+    /**
+     * When the outcome was recorded; null while the verification is still running.
+     */
+    @Column(name = "completed_at")
+    private Instant completedAt;
+
     @PrePersist
     protected void onCreate() {
         attemptedAt = Instant.now();
@@ -113,4 +119,12 @@ public class ServerClaimAttemptEntity {
     public void setAttemptedAt(Instant attemptedAt) {
         this.attemptedAt = attemptedAt;
     }
+
+    public Instant getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(Instant completedAt) {
+        this.completedAt = completedAt;
+    }
 }
@@ -1,6 +1,8 @@
 package com.hytaleonlinelist.domain.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
+
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
@@ -17,6 +19,9 @@ import java.util.UUID;
     @Index(name = "idx_servers_player_count", columnList = "player_count"),
     @Index(name = "idx_servers_created_at", columnList = "created_at")
 })
+// Only write changed columns, so saving a loaded server never overwrites the counters
+// that are maintained with atomic delta updates
+@DynamicUpdate
 public class ServerEntity {
 
     @Id
@@ -85,6 +90,9 @@ public class ServerEntity {
     @Column(name = "average_rating", precision = 2, scale = 1)
     private java.math.BigDecimal averageRating;
 
+    @Column(name = "rating_sum", nullable = false)
+    private Long ratingSum = 0L;
+
     @Column(name = "view_count", nullable = false)
     private Long viewCount = 0L;
 
@@ -307,6 +315,14 @@ public class ServerEntity {
         this.averageRating = averageRating;
     }
 
+    public Long getRatingSum() {
+        return ratingSum;
+    }
+
+    public void setRatingSum(Long ratingSum) {
+        this.ratingSum = ratingSum;
+    }
+
     public Long getViewCount() {
         return viewCount;
     }
@@ -0,0 +1,77 @@
+package com.hytaleonlinelist.domain.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Vote count of a server within one leaderboard period (week or month).
+ */
+@Entity
+@Table(name = "server_period_votes", indexes = {
+    @Index(name = "idx_period_votes_server_id", columnList = "server_id")
+}, uniqueConstraints = {
+    @UniqueConstraint(name = "uk_period_votes_period_server", columnNames = {"period_type", "period_start", "server_id"})
+})
+public class ServerPeriodVoteEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "id", updatable = false, nullable = false)
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "server_id", nullable = false)
+    private ServerEntity server;
+
+    @Column(name = "period_type", nullable = false, length = 10)
+    @Enumerated(EnumType.STRING)
+    private VotePeriod periodType;
+
+    @Column(name = "period_start", nullable = false)
+    private LocalDate periodStart;
+
+    @Column(name = "vote_count", nullable = false)
+    private Integer voteCount = 0;
+
+    // Getters and Setters
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public ServerEntity getServer() {
+        return server;
+    }
+
+    public void setServer(ServerEntity server) {
+        this.server = server;
+    }
+
+    public VotePeriod getPeriodType() {
+        return periodType;
+    }
+
+    public void setPeriodType(VotePeriod periodType) {
+        this.periodType = periodType;
+    }
+
+    public LocalDate getPeriodStart() {
+        return periodStart;
+    }
+
+    public void setPeriodStart(LocalDate periodStart) {
+        this.periodStart = periodStart;
+    }
+
+    public Integer getVoteCount() {
+        return voteCount;
+    }
+
+    public void setVoteCount(Integer voteCount) {
+        this.voteCount = voteCount;
+    }
+}
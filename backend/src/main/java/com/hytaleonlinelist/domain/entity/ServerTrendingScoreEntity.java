@@ -0,0 +1,48 @@
+package com.hytaleonlinelist.domain.entity;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Checkpoint of a server's decayed trending score as of {@code scoredAt}.
+ */
+@Entity
+@Table(name = "server_trending_scores")
+public class ServerTrendingScoreEntity {
+
+    @Id
+    @Column(name = "server_id", updatable = false, nullable = false)
+    private UUID serverId;
+
+    @Column(name = "score", nullable = false)
+    private Double score = 0.0;
+
+    @Column(name = "scored_at", nullable = false)
+    private Instant scoredAt;
+
+    // Getters and Setters
+    public UUID getServerId() {
+        return serverId;
+    }
+
+    public void setServerId(UUID serverId) {
+        this.serverId = serverId;
+    }
+
+    public Double getScore() {
+        return score;
+    }
+
+    public void setScore(Double score) {
+        this.score = score;
+    }
+
+    public Instant getScoredAt() {
+        return scoredAt;
+    }
+
+    public void setScoredAt(Instant scoredAt) {
+        this.scoredAt = scoredAt;
+    }
+}
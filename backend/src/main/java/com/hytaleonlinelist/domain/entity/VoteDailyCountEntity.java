@@ -0,0 +1,65 @@
+package com.hytaleonlinelist.domain.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Number of votes a server received on one day (rollup of the partitioned votes table).
+ */
+@Entity
+@Table(name = "vote_daily_counts", indexes = {
+    @Index(name = "idx_vote_daily_counts_vote_date", columnList = "vote_date")
+}, uniqueConstraints = {
+    @UniqueConstraint(name = "uk_vote_daily_counts_server_date", columnNames = {"server_id", "vote_date"})
+})
+public class VoteDailyCountEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "id", updatable = false, nullable = false)
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "server_id", nullable = false)
+    private ServerEntity server;
+
+    @Column(name = "vote_date", nullable = false)
+    private LocalDate voteDate;
+
+    @Column(name = "vote_count", nullable = false)
+    private Integer voteCount = 0;
+
+    // Getters and Setters
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public ServerEntity getServer() {
+        return server;
+    }
+
+    public void setServer(ServerEntity server) {
+        this.server = server;
+    }
+
+    public LocalDate getVoteDate() {
+        return voteDate;
+    }
+
+    public void setVoteDate(LocalDate voteDate) {
+        this.voteDate = voteDate;
+    }
+
+    public Integer getVoteCount() {
+        return voteCount;
+    }
+
+    public void setVoteCount(Integer voteCount) {
+        this.voteCount = voteCount;
+    }
+}
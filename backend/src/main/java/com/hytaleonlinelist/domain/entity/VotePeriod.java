@@ -0,0 +1,33 @@
+package com.hytaleonlinelist.domain.entity;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Leaderboard periods for {@link ServerPeriodVoteEntity}.
+ */
+public enum VotePeriod {
+    WEEK,
+    MONTH;
+
+    /**
+     * First day of the period containing the given date (weeks start on Monday).
+     */
+    public LocalDate start(LocalDate date) {
+        return switch (this) {
+            case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> date.withDayOfMonth(1);
+        };
+    }
+
+    /**
+     * First day after the period starting on {@code start}.
+     */
+    public LocalDate end(LocalDate start) {
+        return switch (this) {
+            case WEEK -> start.plusWeeks(1);
+            case MONTH -> start.plusMonths(1);
+        };
+    }
+}
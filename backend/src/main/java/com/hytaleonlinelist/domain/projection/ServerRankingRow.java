@@ -0,0 +1,22 @@
+package com.hytaleonlinelist.domain.projection;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Slim projection of the columns the listing can sort and filter on.
+ * Used to build ranking snapshots without hydrating full server entities.
+ */
+public record ServerRankingRow(
+    UUID id,
+    String categorySlug,
+    Boolean isOnline,
+    Integer voteCount,
+    Integer playerCount,
+    Instant createdAt,
+    String name,
+    Double uptimePercentage,
+    BigDecimal averageRating,
+    Integer reviewCount
+) {}
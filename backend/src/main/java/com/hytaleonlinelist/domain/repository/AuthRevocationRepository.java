@@ -0,0 +1,34 @@
+package com.hytaleonlinelist.domain.repository;
+
+import com.hytaleonlinelist.domain.entity.AuthRevocationEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface AuthRevocationRepository extends JpaRepository<AuthRevocationEntity, UUID> {
+
+    /**
+     * Records a revocation, moving an existing one forward.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO auth_revocations (user_id, revoked_at) VALUES (:userId, :revokedAt) " +
+           "ON CONFLICT (user_id) DO UPDATE SET revoked_at = GREATEST(auth_revocations.revoked_at, EXCLUDED.revoked_at)",
+           nativeQuery = true)
+    int upsert(@Param("userId") UUID userId, @Param("revokedAt") Instant revokedAt);
+
+    List<AuthRevocationEntity> findByRevokedAtAfter(Instant since);
+
+    /**
+     * Drops revocations older than any access token that could still be presented.
+     */
+    @Modifying
+    @Query("DELETE FROM AuthRevocationEntity r WHERE r.revokedAt < :before")
+    int deleteRevokedBefore(@Param("before") Instant before);
+}
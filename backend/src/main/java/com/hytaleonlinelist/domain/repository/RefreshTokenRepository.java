@@ -9,21 +9,49 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
-import java.util.Optional;
+import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface RefreshTokenRepository extends JpaRepository<RefreshTokenEntity, UUID> {
 
-    Optional<RefreshTokenEntity> findByTokenAndRevokedFalse(String token);
-
+    /**
+     * Revokes a token if it is still active, in one statement, and returns its user.
+     * Of two concurrent rotations of the same token only one gets a row back.
+     */
+    @Query(value = "UPDATE refresh_tokens SET revoked = true, revoked_at = :now " +
+           "WHERE token_hash = :tokenHash AND revoked = false AND expires_at > :now " +
+           "RETURNING user_id",
+           nativeQuery = true)
+    List<UUID> revokeIfActive(@Param("tokenHash") byte[] tokenHash, @Param("now") Instant now);
+
+    @Query("SELECT COUNT(r) > 0 FROM RefreshTokenEntity r " +
+           "WHERE r.tokenHash = :tokenHash AND r.revoked = false AND r.expiresAt > :now")
+    boolean isActive(@Param("tokenHash") byte[] tokenHash, @Param("now") Instant now);
+
+    /**
+     * Revokes every active token of a user; already revoked tokens keep their revocation time.
+     */
     @Modifying
-    @Query("UPDATE RefreshTokenEntity r SET r.revoked = true WHERE r.user = :user")
-    void revokeAllByUser(@Param("user") UserEntity user);
-
+    @Query("UPDATE RefreshTokenEntity r SET r.revoked = true, r.revokedAt = :now " +
+           "WHERE r.user = :user AND r.revoked = false")
+    void revokeAllByUser(@Param("user") UserEntity user, @Param("now") Instant now);
+
+    /**
+     * Deletes up to {@code batchSize} tokens that expired, or were revoked before the cutoff.
+     * Called repeatedly so each transaction stays short.
+     */
     @Modifying
-    @Query("DELETE FROM RefreshTokenEntity r WHERE r.expiresAt < :now")
-    void deleteExpiredTokens(@Param("now") Instant now);
+    @Query(value = "DELETE FROM refresh_tokens WHERE id IN (" +
+           "SELECT id FROM refresh_tokens " +
+           "WHERE expires_at < :now OR revoked_at < :revokedCutoff " +
+           "LIMIT :batchSize)",
+           nativeQuery = true)
+    int deleteExpiredBatch(
+            @Param("now") Instant now,
+            @Param("revokedCutoff") Instant revokedCutoff,
+            @Param("batchSize") int batchSize
+    );
 
     @Modifying
     @Query("DELETE FROM RefreshTokenEntity r WHERE r.user = :user AND r.revoked = true")
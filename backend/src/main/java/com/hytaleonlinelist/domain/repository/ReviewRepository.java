@@ -7,6 +7,8 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -15,15 +17,29 @@ public interface ReviewRepository extends JpaRepository<ReviewEntity, UUID> {
 
     Page<ReviewEntity> findByServerId(UUID serverId, Pageable pageable);
 
-    @Query("SELECT r FROM ReviewEntity r JOIN FETCH r.user WHERE r.server.id = :serverId ORDER BY r.createdAt DESC")
-    Page<ReviewEntity> findByServerIdWithUser(@Param("serverId") UUID serverId, Pageable pageable);
+    /**
+     * A page of a server's reviews, newest first, without a count query.
+     */
+    @Query("SELECT r FROM ReviewEntity r JOIN FETCH r.user WHERE r.server.id = :serverId " +
+           "ORDER BY r.createdAt DESC, r.id DESC")
+    List<ReviewEntity> findPageByServerIdWithUser(@Param("serverId") UUID serverId, Pageable pageable);
+
+    /**
+     * The next reviews after a keyset position (created_at, id), newest first.
+     */
+    @Query("SELECT r FROM ReviewEntity r JOIN FETCH r.user WHERE r.server.id = :serverId " +
+           "AND (r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id)) " +
+           "ORDER BY r.createdAt DESC, r.id DESC")
+    List<ReviewEntity> findPageByServerIdWithUserAfter(
+            @Param("serverId") UUID serverId,
+            @Param("createdAt") Instant createdAt,
+            @Param("id") UUID id,
+            Pageable pageable
+    );
 
     Optional<ReviewEntity> findByServerIdAndUserId(UUID serverId, UUID userId);
 
     boolean existsByServerIdAndUserId(UUID serverId, UUID userId);
 
     long countByServerId(UUID serverId);
-
-    @Query("SELECT AVG(r.rating) FROM ReviewEntity r WHERE r.server.id = :serverId")
-    Double getAverageRatingByServerId(@Param("serverId") UUID serverId);
 }
@@ -0,0 +1,39 @@
+package com.hytaleonlinelist.domain.repository;
+
+import com.hytaleonlinelist.domain.entity.ServerCacheChangeEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ServerCacheChangeRepository extends JpaRepository<ServerCacheChangeEntity, Long> {
+
+    /**
+     * Records one change row per server in a single insert.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO server_cache_changes (node, server_id) " +
+           "SELECT :node, d.id FROM unnest(CAST(:ids AS uuid[])) AS d(id)",
+           nativeQuery = true)
+    int insertServerChanges(@Param("node") String node, @Param("ids") UUID[] ids);
+
+    /**
+     * Records a change of every server.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO server_cache_changes (node, server_id) VALUES (:node, NULL)",
+           nativeQuery = true)
+    int insertGlobalChange(@Param("node") String node);
+
+    List<ServerCacheChangeEntity> findByChangedAtAfterAndNodeNot(Instant since, String node);
+
+    @Modifying
+    @Query("DELETE FROM ServerCacheChangeEntity c WHERE c.changedAt < :before")
+    int deleteChangedBefore(@Param("before") Instant before);
+}
@@ -7,6 +7,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
@@ -59,4 +60,9 @@ public interface ServerClaimAttemptRepository extends JpaRepository<ServerClaimA
         @Param("userId") UUID userId,
         @Param("since") Instant since
     );
+
+    /**
+     * An attempt by a user on a server, used as the persisted state of its verification job.
+     */
+    Optional<ServerClaimAttemptEntity> findByIdAndServerIdAndUserId(UUID id, UUID serverId, UUID userId);
 }
@@ -11,6 +11,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -88,6 +89,24 @@ public interface ServerClaimInitiationRepository extends JpaRepository<ServerCla
            "AND c.expiresAt < :now")
     List<ServerClaimInitiationEntity> findExpiredPendingClaims(@Param("now") Instant now);
 
+    /**
+     * Ids and expiry times of all pending claims (to set their expiry timers).
+     */
+    @Query("SELECT c.id, c.expiresAt FROM ServerClaimInitiationEntity c " +
+           "WHERE c.status = 'PENDING'")
+    List<Object[]> findPendingExpiries();
+
+    /**
+     * Mark the given claims EXPIRED if they are still pending and past their expiry.
+     */
+    @Modifying
+    @Query("UPDATE ServerClaimInitiationEntity c " +
+           "SET c.status = 'EXPIRED', c.completedAt = :now " +
+           "WHERE c.id IN :ids " +
+           "AND c.status = 'PENDING' " +
+           "AND c.expiresAt <= :now")
+    int markExpired(@Param("ids") Collection<UUID> ids, @Param("now") Instant now);
+
     /**
      * Bulk update expired claims to EXPIRED status.
      */
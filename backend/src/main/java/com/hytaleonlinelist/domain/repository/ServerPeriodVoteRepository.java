@@ -0,0 +1,68 @@
+package com.hytaleonlinelist.domain.repository;
+
+import com.hytaleonlinelist.domain.entity.ServerPeriodVoteEntity;
+import com.hytaleonlinelist.domain.entity.VotePeriod;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ServerPeriodVoteRepository extends JpaRepository<ServerPeriodVoteEntity, UUID> {
+
+    /**
+     * Adds vote deltas to one period's counters in a single upsert (ids[i] gets deltas[i]).
+     * Ids of servers deleted in the meantime are skipped.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO server_period_votes (server_id, period_type, period_start, vote_count) " +
+           "SELECT d.id, :periodType, :periodStart, d.delta " +
+           "FROM unnest(CAST(:ids AS uuid[]), CAST(:deltas AS bigint[])) AS d(id, delta) " +
+           "WHERE EXISTS (SELECT 1 FROM servers s WHERE s.id = d.id) " +
+           "ON CONFLICT ON CONSTRAINT uk_period_votes_period_server " +
+           "DO UPDATE SET vote_count = server_period_votes.vote_count + EXCLUDED.vote_count",
+           nativeQuery = true)
+    int addVotes(
+            @Param("periodType") String periodType,
+            @Param("periodStart") LocalDate periodStart,
+            @Param("ids") UUID[] ids,
+            @Param("deltas") Long[] deltas
+    );
+
+    /**
+     * Raises one period's counters that fell below the sum of its daily rollups.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO server_period_votes (server_id, period_type, period_start, vote_count) " +
+           "SELECT d.server_id, :periodType, :periodStart, SUM(d.vote_count) FROM vote_daily_counts d " +
+           "WHERE d.vote_date >= :periodStart AND d.vote_date < :periodEnd " +
+           "GROUP BY d.server_id " +
+           "ON CONFLICT ON CONSTRAINT uk_period_votes_period_server " +
+           "DO UPDATE SET vote_count = EXCLUDED.vote_count " +
+           "WHERE server_period_votes.vote_count < EXCLUDED.vote_count",
+           nativeQuery = true)
+    int reconcileFromDailyCounts(
+            @Param("periodType") String periodType,
+            @Param("periodStart") LocalDate periodStart,
+            @Param("periodEnd") LocalDate periodEnd
+    );
+
+    /**
+     * Vote counts of one period, as [serverId, voteCount] rows.
+     */
+    @Query("SELECT p.server.id, p.voteCount FROM ServerPeriodVoteEntity p " +
+           "WHERE p.periodType = :periodType AND p.periodStart = :periodStart")
+    List<Object[]> findCounts(
+            @Param("periodType") VotePeriod periodType,
+            @Param("periodStart") LocalDate periodStart
+    );
+
+    @Modifying
+    @Query("DELETE FROM ServerPeriodVoteEntity p WHERE p.periodStart < :before")
+    int deleteStartedBefore(@Param("before") LocalDate before);
+}
@@ -1,14 +1,17 @@
 package com.hytaleonlinelist.domain.repository;
 
 import com.hytaleonlinelist.domain.entity.ServerEntity;
+import com.hytaleonlinelist.domain.projection.ServerRankingRow;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -41,8 +44,11 @@ public interface ServerRepository extends JpaRepository<ServerEntity, UUID>, Jpa
            "CASE WHEN :sortBy = 'voteCount' THEN s.vote_count END DESC NULLS LAST, " +
            "CASE WHEN :sortBy = 'playerCount' THEN s.player_count END DESC NULLS LAST, " +
            "CASE WHEN :sortBy = 'createdAt' THEN EXTRACT(EPOCH FROM s.created_at) END DESC NULLS LAST, " +
-           "CASE WHEN :sortBy = 'name' THEN s.name END ASC NULLS LAST, " +
-           "s.created_at DESC NULLS LAST",
+           "CASE WHEN :sortBy = 'name' THEN lower(s.name) COLLATE \"C\" END ASC NULLS LAST, " +
+           "CASE WHEN :sortBy = 'uptimePercentage' THEN s.uptime_percentage END DESC NULLS LAST, " +
+           "CASE WHEN :sortBy = 'averageRating' THEN s.average_rating END DESC NULLS LAST, " +
+           "CASE WHEN :sortBy = 'averageRating' THEN s.review_count END DESC NULLS LAST, " +
+           "s.created_at DESC NULLS LAST, s.id",
            countQuery = "SELECT COUNT(DISTINCT s.id) FROM servers s " +
            "LEFT JOIN server_tags t ON s.id = t.server_id " +
            "LEFT JOIN categories c ON s.category_id = c.id " +
@@ -61,6 +67,46 @@ public interface ServerRepository extends JpaRepository<ServerEntity, UUID>, Jpa
             Pageable pageable
     );
 
+    /**
+     * Sort/filter columns of every server, for building ranking snapshots.
+     */
+    @Query("SELECT new com.hytaleonlinelist.domain.projection.ServerRankingRow(" +
+           "s.id, c.slug, s.isOnline, s.voteCount, s.playerCount, s.createdAt, s.name, " +
+           "s.uptimePercentage, s.averageRating, s.reviewCount) " +
+           "FROM ServerEntity s JOIN s.category c")
+    List<ServerRankingRow> findAllRankingRows();
+
+    /**
+     * Batched hydration of a listing page, fetching everything the response mapper touches.
+     * Result order is unspecified; callers reorder by the requested ids.
+     */
+    @Query("SELECT DISTINCT s FROM ServerEntity s " +
+           "JOIN FETCH s.category " +
+           "LEFT JOIN FETCH s.owner " +
+           "LEFT JOIN FETCH s.tags " +
+           "WHERE s.id IN :ids")
+    List<ServerEntity> findAllByIdWithDetails(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Hands an unverified server to a claimer, provided the claim token they verified is
+     * still the current one. Returns 0 if someone else verified first.
+     */
+    @Modifying
+    @Query(value = "UPDATE servers SET owner_id = :userId, verification_method = :method, verified_at = :verifiedAt, " +
+           "claim_token = NULL, claim_token_expiry = NULL " +
+           "WHERE id = :serverId AND verified_at IS NULL AND claim_token = :token",
+           nativeQuery = true)
+    int claimOwnership(
+            @Param("serverId") UUID serverId,
+            @Param("userId") UUID userId,
+            @Param("method") String method,
+            @Param("verifiedAt") Instant verifiedAt,
+            @Param("token") String token
+    );
+
+    @Query("SELECT s.reviewCount FROM ServerEntity s WHERE s.id = :id")
+    Optional<Integer> findReviewCountById(@Param("id") UUID id);
+
     @Query("SELECT SUM(s.playerCount) FROM ServerEntity s WHERE s.isOnline = true")
     Long getTotalOnlinePlayers();
 
@@ -72,6 +118,75 @@ public interface ServerRepository extends JpaRepository<ServerEntity, UUID>, Jpa
 
     boolean existsBySlug(String slug);
 
+    /**
+     * Applies buffered view count deltas in one statement (ids[i] gets deltas[i]).
+     */
+    @Modifying
+    @Query(value = "UPDATE servers s SET view_count = s.view_count + d.delta " +
+           "FROM unnest(CAST(:ids AS uuid[]), CAST(:deltas AS bigint[])) AS d(id, delta) " +
+           "WHERE s.id = d.id",
+           nativeQuery = true)
+    int addViewCounts(@Param("ids") UUID[] ids, @Param("deltas") Long[] deltas);
+
+    /**
+     * Applies buffered vote count deltas in one statement (ids[i] gets deltas[i]).
+     */
+    @Modifying
+    @Query(value = "UPDATE servers s SET vote_count = s.vote_count + d.delta " +
+           "FROM unnest(CAST(:ids AS uuid[]), CAST(:deltas AS bigint[])) AS d(id, delta) " +
+           "WHERE s.id = d.id",
+           nativeQuery = true)
+    int addVoteCounts(@Param("ids") UUID[] ids, @Param("deltas") Long[] deltas);
+
+    /**
+     * Applies a review change to the rating aggregates in one atomic statement and
+     * re-derives the average from the new count and sum.
+     */
+    @Modifying
+    @Query(value = "UPDATE servers SET " +
+           "review_count = review_count + :countDelta, " +
+           "rating_sum = rating_sum + :sumDelta, " +
+           "average_rating = CASE WHEN review_count + :countDelta > 0 " +
+           "THEN ROUND(CAST(rating_sum + :sumDelta AS NUMERIC) / (review_count + :countDelta), 1) END " +
+           "WHERE id = :serverId",
+           nativeQuery = true)
+    int applyReviewDelta(
+            @Param("serverId") UUID serverId,
+            @Param("countDelta") int countDelta,
+            @Param("sumDelta") long sumDelta
+    );
+
+    /**
+     * Resets rating aggregates to the values in reviews wherever they have drifted.
+     * A count above the number of review rows is an imported baseline, not drift, so
+     * those servers (and servers without review rows) are left alone.
+     */
+    @Modifying
+    @Query(value = "UPDATE servers s SET " +
+           "review_count = agg.review_count, " +
+           "rating_sum = agg.rating_sum, " +
+           "average_rating = ROUND(CAST(agg.rating_sum AS NUMERIC) / agg.review_count, 1) " +
+           "FROM (SELECT server_id, COUNT(*) AS review_count, SUM(rating) AS rating_sum " +
+           "      FROM reviews GROUP BY server_id) agg " +
+           "WHERE s.id = agg.server_id " +
+           "AND s.review_count <= agg.review_count " +
+           "AND (s.review_count <> agg.review_count OR s.rating_sum <> agg.rating_sum)",
+           nativeQuery = true)
+    int reconcileReviewAggregates();
+
+    /**
+     * Raises vote counts that fell below the sum of their daily rollups. A count above
+     * the rollups is an imported baseline, not drift, so it is left alone.
+     */
+    @Modifying
+    @Query(value = "UPDATE servers s SET vote_count = agg.vote_count " +
+           "FROM (SELECT server_id, SUM(vote_count) AS vote_count " +
+           "      FROM vote_daily_counts GROUP BY server_id) agg " +
+           "WHERE s.id = agg.server_id " +
+           "AND s.vote_count < agg.vote_count",
+           nativeQuery = true)
+    int reconcileVoteCounts();
+
     List<ServerEntity> findByOwnerId(UUID ownerId);
 
     // Admin methods
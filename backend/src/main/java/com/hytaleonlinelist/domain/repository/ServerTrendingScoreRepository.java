@@ -0,0 +1,45 @@
+package com.hytaleonlinelist.domain.repository;
+
+import com.hytaleonlinelist.domain.entity.ServerTrendingScoreEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Repository
+public interface ServerTrendingScoreRepository extends JpaRepository<ServerTrendingScoreEntity, UUID> {
+
+    /**
+     * Adds score deltas for every server in one statement (ids[i] gets scores[i]): the stored
+     * score is decayed to {@code scoredAt} first, so nodes checkpointing their own activity
+     * accumulate into the same row. Ids of servers deleted in the meantime are skipped.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO server_trending_scores (server_id, score, scored_at) " +
+           "SELECT d.id, d.score, :scoredAt " +
+           "FROM unnest(CAST(:ids AS uuid[]), CAST(:scores AS double precision[])) AS d(id, score) " +
+           "WHERE EXISTS (SELECT 1 FROM servers s WHERE s.id = d.id) " +
+           "ON CONFLICT (server_id) DO UPDATE SET " +
+           "score = server_trending_scores.score * power(2, -GREATEST(0, " +
+           "        EXTRACT(EPOCH FROM EXCLUDED.scored_at - server_trending_scores.scored_at)) / :halfLifeSeconds) " +
+           "        + EXCLUDED.score, " +
+           "scored_at = GREATEST(server_trending_scores.scored_at, EXCLUDED.scored_at)",
+           nativeQuery = true)
+    int mergeAll(
+            @Param("ids") UUID[] ids,
+            @Param("scores") Double[] scores,
+            @Param("scoredAt") Instant scoredAt,
+            @Param("halfLifeSeconds") double halfLifeSeconds
+    );
+
+    /**
+     * Drops checkpoints that have decayed to nothing.
+     */
+    @Modifying
+    @Query("DELETE FROM ServerTrendingScoreEntity t WHERE t.scoredAt < :before")
+    int deleteScoredBefore(@Param("before") Instant before);
+}
@@ -0,0 +1,58 @@
+package com.hytaleonlinelist.domain.repository;
+
+import com.hytaleonlinelist.domain.entity.VoteDailyCountEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Repository
+public interface VoteDailyCountRepository extends JpaRepository<VoteDailyCountEntity, UUID> {
+
+    /**
+     * Adds vote deltas for one day in a single upsert (ids[i] gets deltas[i]).
+     * Ids of servers deleted in the meantime are skipped.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO vote_daily_counts (server_id, vote_date, vote_count) " +
+           "SELECT d.id, :voteDate, d.delta " +
+           "FROM unnest(CAST(:ids AS uuid[]), CAST(:deltas AS bigint[])) AS d(id, delta) " +
+           "WHERE EXISTS (SELECT 1 FROM servers s WHERE s.id = d.id) " +
+           "ON CONFLICT ON CONSTRAINT uk_vote_daily_counts_server_date " +
+           "DO UPDATE SET vote_count = vote_daily_counts.vote_count + EXCLUDED.vote_count",
+           nativeQuery = true)
+    int addVotes(
+            @Param("voteDate") LocalDate voteDate,
+            @Param("ids") UUID[] ids,
+            @Param("deltas") Long[] deltas
+    );
+
+    /**
+     * Raises the rollups of days in [from, to) that fell below the committed vote rows,
+     * e.g. after deltas were lost in a crash. Rollups are never lowered, as votes of
+     * deleted users are removed while their counts are kept.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO vote_daily_counts (server_id, vote_date, vote_count) " +
+           "SELECT v.server_id, v.vote_date, COUNT(*) FROM votes v " +
+           "WHERE v.vote_date >= :from AND v.vote_date < :to " +
+           "GROUP BY v.server_id, v.vote_date " +
+           "ON CONFLICT ON CONSTRAINT uk_vote_daily_counts_server_date " +
+           "DO UPDATE SET vote_count = EXCLUDED.vote_count " +
+           "WHERE vote_daily_counts.vote_count < EXCLUDED.vote_count",
+           nativeQuery = true)
+    int reconcileFromVotes(
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to
+    );
+
+    @Query("SELECT COALESCE(SUM(d.voteCount), 0) FROM VoteDailyCountEntity d WHERE d.server.id = :serverId")
+    long countVotesByServerId(@Param("serverId") UUID serverId);
+
+    @Query("SELECT COALESCE(SUM(d.voteCount), 0) FROM VoteDailyCountEntity d")
+    long getTotalVoteCount();
+}
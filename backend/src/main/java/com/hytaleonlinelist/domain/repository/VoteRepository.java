@@ -7,7 +7,9 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -21,10 +23,67 @@ public interface VoteRepository extends JpaRepository<VoteEntity, UUID> {
             @Param("date") LocalDate date
     );
 
+    /**
+     * Inserts a vote unless the user already voted for the server that day.
+     * Relies on uk_votes_server_user_date; returns the new id, or nothing on conflict.
+     */
+    @Query(value = "INSERT INTO votes (id, server_id, user_id, voted_at, vote_date) " +
+           "VALUES (:id, :serverId, :userId, :votedAt, :voteDate) " +
+           "ON CONFLICT ON CONSTRAINT uk_votes_server_user_date DO NOTHING " +
+           "RETURNING id",
+           nativeQuery = true)
+    List<UUID> insertIfAbsent(
+            @Param("id") UUID id,
+            @Param("serverId") UUID serverId,
+            @Param("userId") UUID userId,
+            @Param("votedAt") Instant votedAt,
+            @Param("voteDate") LocalDate voteDate
+    );
+
     boolean existsByServerIdAndUserIdAndVoteDate(UUID serverId, UUID userId, LocalDate voteDate);
 
-    long countByServerId(UUID serverId);
+    /**
+     * All votes cast on a date, as [userId, serverId] rows.
+     */
+    @Query("SELECT v.user.id, v.server.id FROM VoteEntity v WHERE v.voteDate = :date")
+    List<Object[]> findVoterPairsByDate(@Param("date") LocalDate date);
+
+    /**
+     * Servers the user voted for on a date.
+     */
+    @Query("SELECT v.server.id FROM VoteEntity v WHERE v.user.id = :userId AND v.voteDate = :date")
+    List<UUID> findVotedServerIds(@Param("userId") UUID userId, @Param("date") LocalDate date);
+
+    /**
+     * Votes cast since the given instant, as [serverId, votedAt] rows.
+     * The vote_date bound lets the planner skip older partitions.
+     */
+    @Query("SELECT v.server.id, v.votedAt FROM VoteEntity v " +
+           "WHERE v.voteDate >= :sinceDate AND v.votedAt >= :since")
+    List<Object[]> findVoteTimesSince(@Param("since") Instant since, @Param("sinceDate") LocalDate sinceDate);
+
+    /**
+     * A user's votes, newest first. Votes cannot predate the account, so passing its
+     * creation date prunes every partition from before the user signed up.
+     */
+    @Query(value = "SELECT v FROM VoteEntity v JOIN FETCH v.server " +
+                   "WHERE v.user.id = :userId AND v.voteDate >= :sinceDate ORDER BY v.votedAt DESC",
+           countQuery = "SELECT COUNT(v) FROM VoteEntity v WHERE v.user.id = :userId AND v.voteDate >= :sinceDate")
+    Page<VoteEntity> findByUserIdWithServer(
+            @Param("userId") UUID userId,
+            @Param("sinceDate") LocalDate sinceDate,
+            Pageable pageable
+    );
+
+    /**
+     * Creates the monthly partition containing the given date, if missing. Returns its name.
+     */
+    @Query(value = "SELECT create_votes_partition(:monthStart)", nativeQuery = true)
+    String createPartition(@Param("monthStart") LocalDate monthStart);
 
-    @Query("SELECT v FROM VoteEntity v JOIN FETCH v.server WHERE v.user.id = :userId ORDER BY v.votedAt DESC")
-    Page<VoteEntity> findByUserIdWithServer(@Param("userId") UUID userId, Pageable pageable);
+    /**
+     * Detaches monthly partitions that ended on or before the cutoff. Returns how many.
+     */
+    @Query(value = "SELECT archive_votes_partitions_before(:cutoff)", nativeQuery = true)
+    Integer archivePartitionsBefore(@Param("cutoff") LocalDate cutoff);
 }
@@ -0,0 +1,19 @@
+package com.hytaleonlinelist.dto.response;
+
+/**
+ * State of an asynchronous claim verification job.
+ *
+ * TypeScript interface:
+ * interface ClaimVerificationJob {
+ *   jobId: string | null;                       // null when nothing had to run
+ *   status: 'PENDING' | 'COMPLETED' | 'FAILED';
+ *   result: VerificationResultResponse | null;  // set once COMPLETED
+ *   error: string | null;                       // set when FAILED
+ * }
+ */
+public record ClaimVerificationJobResponse(
+    String jobId,
+    String status,
+    VerificationResultResponse result,
+    String error
+) {}
@@ -0,0 +1,19 @@
+package com.hytaleonlinelist.dto.response;
+
+import java.util.List;
+
+/**
+ * Cursor-paginated reviews, newest first.
+ *
+ * TypeScript interface:
+ * interface ReviewFeed {
+ *   data: Review[];
+ *   nextCursor: string | null;  // pass back as ?cursor= for the next page
+ *   total: number;
+ * }
+ */
+public record ReviewFeedResponse(
+    List<ReviewResponse> data,
+    String nextCursor,
+    long total
+) {}
@@ -0,0 +1,14 @@
+package com.hytaleonlinelist.dto.response;
+
+import java.util.Map;
+
+/**
+ * Today's vote status for several servers, keyed by server id.
+ *
+ * TypeScript interface:
+ * interface VoteStatusBatch {
+ *   statuses: Record<string, boolean>;
+ * }
+ */
+public record VoteStatusBatchResponse(Map<String, Boolean> statuses) {
+}
@@ -0,0 +1,19 @@
+package com.hytaleonlinelist.exception;
+
+/**
+ * Thrown when a request is shed because a bounded resource is saturated.
+ * Mapped to 503 with a Retry-After header.
+ */
+public class ServiceUnavailableException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceUnavailableException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
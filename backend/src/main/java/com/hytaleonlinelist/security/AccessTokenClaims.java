@@ -0,0 +1,28 @@
+package com.hytaleonlinelist.security;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * The verified claims of an access token.
+ *
+ * username, emailVerified and banned are only present on tokens issued since they were
+ * added to the token; {@link #hasAuthorizationClaims()} tells whether a principal can be
+ * built from the token alone. issuedAt has millisecond precision, or whole seconds on
+ * tokens issued before the {@code iat_ms} claim was added.
+ */
+public record AccessTokenClaims(
+        UUID userId,
+        String email,
+        String username,
+        String role,
+        Boolean emailVerified,
+        Boolean banned,
+        Instant issuedAt,
+        Instant expiresAt
+) {
+
+    public boolean hasAuthorizationClaims() {
+        return role != null && username != null && emailVerified != null && banned != null && issuedAt != null;
+    }
+}
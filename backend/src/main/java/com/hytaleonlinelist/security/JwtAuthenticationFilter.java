@@ -6,30 +6,76 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private static final String ACCESS_TOKEN_COOKIE = "access_token";
 
+    /**
+     * Public reads whose handlers never look at the user. Requests to these skip token
+     * parsing and principal resolution entirely.
+     */
+    private static final List<PathPattern> ANONYMOUS_READS = Stream.of(
+            "/api/servers",
+            "/api/servers/featured",
+            "/api/servers/{slug}",
+            "/api/servers/{serverId}/status/**",
+            "/api/categories/**",
+            "/api/stats/**",
+            "/actuator/health/**",
+            "/actuator/info"
+    ).map(PathPatternParser.defaultInstance::parse).toList();
+
+    /**
+     * Owner-only reads that would otherwise match {@code /api/servers/{slug}}.
+     */
+    private static final PathPattern MY_SERVERS =
+            PathPatternParser.defaultInstance.parse("/api/servers/my-servers/**");
+
     private final JwtTokenProvider jwtTokenProvider;
-    private final CustomUserDetailsService userDetailsService;
+    private final PrincipalCache principalCache;
+    private final TokenRevocations tokenRevocations;
+    private final boolean stateless;
 
     public JwtAuthenticationFilter(
             JwtTokenProvider jwtTokenProvider,
-            CustomUserDetailsService userDetailsService) {
+            PrincipalCache principalCache,
+            TokenRevocations tokenRevocations,
+            JwtProperties jwtProperties) {
         this.jwtTokenProvider = jwtTokenProvider;
-        this.userDetailsService = userDetailsService;
+        this.principalCache = principalCache;
+        this.tokenRevocations = tokenRevocations;
+        this.stateless = jwtProperties.isStateless();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!HttpMethod.GET.matches(request.getMethod())) {
+            return false;
+        }
+        PathContainer path = PathContainer.parsePath(request.getRequestURI());
+        if (MY_SERVERS.matches(path)) {
+            return false;
+        }
+        return ANONYMOUS_READS.stream().anyMatch(pattern -> pattern.matches(path));
     }
 
     @Override
@@ -40,10 +86,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         try {
             String token = extractTokenFromCookie(request);
+            Optional<AccessTokenClaims> claims = jwtTokenProvider.verifyAccessToken(token);
 
-            if (token != null && jwtTokenProvider.validateToken(token)) {
-                UUID userId = jwtTokenProvider.getUserIdFromToken(token);
-                UserDetails userDetails = userDetailsService.loadUserById(userId);
+            if (claims.isPresent() && !(stateless && tokenRevocations.isRevoked(claims.get()))) {
+                UUID userId = claims.get().userId();
+                UserDetails userDetails = resolvePrincipal(claims.get());
 
                 UsernamePasswordAuthenticationToken authentication =
                         new UsernamePasswordAuthenticationToken(
@@ -66,6 +113,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * In stateless mode the principal comes from the token itself; tokens issued before
+     * the authorization claims were added still go through the principal cache.
+     */
+    private UserDetails resolvePrincipal(AccessTokenClaims claims) {
+        if (stateless && claims.hasAuthorizationClaims()) {
+            return UserPrincipal.from(claims);
+        }
+        return principalCache.get(claims.userId());
+    }
+
     private String extractTokenFromCookie(HttpServletRequest request) {
         Cookie[] cookies = request.getCookies();
         if (cookies == null) {
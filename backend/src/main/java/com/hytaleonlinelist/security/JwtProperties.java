@@ -10,6 +10,7 @@ public class JwtProperties {
     private String secret;
     private long accessTokenExpiration;
     private long refreshTokenExpiration;
+    private boolean stateless;
 
     public String getSecret() {
         return secret;
@@ -34,4 +35,16 @@ public class JwtProperties {
     public void setRefreshTokenExpiration(long refreshTokenExpiration) {
         this.refreshTokenExpiration = refreshTokenExpiration;
     }
+
+    /**
+     * Authorize requests from access token claims alone (plus the revocation set),
+     * without loading the user.
+     */
+    public boolean isStateless() {
+        return stateless;
+    }
+
+    public void setStateless(boolean stateless) {
+        this.stateless = stateless;
+    }
 }
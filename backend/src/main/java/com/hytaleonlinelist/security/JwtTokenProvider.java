@@ -1,36 +1,69 @@
 package com.hytaleonlinelist.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.hytaleonlinelist.domain.entity.UserEntity;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
+import java.util.HexFormat;
+import java.util.Optional;
 import java.util.UUID;
 
 @Component
 public class JwtTokenProvider {
 
+    private static final int VERIFIED_TOKEN_CACHE_SIZE = 10_000;
+
     private final JwtProperties jwtProperties;
     private final SecretKey key;
+    private final JwtParser parser;
+
+    /**
+     * Claims of recently verified tokens by token digest, each kept until the token expires.
+     * Only successfully verified tokens are cached, so a forged token never gets an entry.
+     */
+    private final Cache<String, AccessTokenClaims> verifiedTokens;
 
     public JwtTokenProvider(JwtProperties jwtProperties) {
         this.jwtProperties = jwtProperties;
         this.key = Keys.hmacShaKeyFor(
                 jwtProperties.getSecret().getBytes(StandardCharsets.UTF_8)
         );
+        // Parsers are immutable and thread-safe, so one instance serves every request
+        this.parser = Jwts.parser()
+                .verifyWith(key)
+                .build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(VERIFIED_TOKEN_CACHE_SIZE)
+                .expireAfter(Expiry.creating((String digest, AccessTokenClaims claims) ->
+                        Duration.between(Instant.now(), claims.expiresAt())))
+                .build();
     }
 
-    public String generateAccessToken(UUID userId, String email, String role) {
+    public String generateAccessToken(UserEntity user) {
         Date now = new Date();
         Date expiry = new Date(now.getTime() + jwtProperties.getAccessTokenExpiration());
 
         return Jwts.builder()
-                .subject(userId.toString())
-                .claim("email", email)
-                .claim("role", role)
+                .subject(user.getId().toString())
+                .claim("email", user.getEmail())
+                .claim("username", user.getUsername())
+                .claim("role", user.getRole().name())
+                .claim("email_verified", user.isEmailVerified())
+                .claim("banned", user.isBanned())
                 .issuedAt(now)
+                // iat has second precision; revocation checks need the exact issue time
+                .claim("iat_ms", now.getTime())
                 .expiration(expiry)
                 .signWith(key)
                 .compact();
@@ -40,38 +73,79 @@ public class JwtTokenProvider {
         return UUID.randomUUID().toString();
     }
 
-    public UUID getUserIdFromToken(String token) {
-        Claims claims = parseToken(token);
-        return UUID.fromString(claims.getSubject());
+    /**
+     * The stored form of a refresh token (SHA-256). Refresh tokens are random, so an
+     * unsalted fast hash is enough to keep a database leak from yielding usable tokens.
+     */
+    public byte[] hashRefreshToken(String refreshToken) {
+        return sha256(refreshToken);
     }
 
-    public String getEmailFromToken(String token) {
-        Claims claims = parseToken(token);
-        return claims.get("email", String.class);
-    }
+    /**
+     * Verify an access token and return its claims, or empty if it is invalid or expired.
+     * Signature verification and JSON parsing run once per distinct token; repeated
+     * requests with the same token are answered from the verified-token cache.
+     */
+    public Optional<AccessTokenClaims> verifyAccessToken(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
 
-    public String getRoleFromToken(String token) {
-        Claims claims = parseToken(token);
-        return claims.get("role", String.class);
-    }
+        String digest = digest(token);
+        AccessTokenClaims cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null && cached.expiresAt().isAfter(Instant.now())) {
+            return Optional.of(cached);
+        }
 
-    public boolean validateToken(String token) {
         try {
-            parseToken(token);
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            return false;
+            Claims claims = parseToken(token);
+            AccessTokenClaims verified = new AccessTokenClaims(
+                    UUID.fromString(claims.getSubject()),
+                    claims.get("email", String.class),
+                    claims.get("username", String.class),
+                    claims.get("role", String.class),
+                    claims.get("email_verified", Boolean.class),
+                    claims.get("banned", Boolean.class),
+                    issuedAt(claims),
+                    claims.getExpiration().toInstant()
+            );
+            verifiedTokens.put(digest, verified);
+            return Optional.of(verified);
+        } catch (JwtException | IllegalArgumentException | NullPointerException e) {
+            return Optional.empty();
         }
     }
 
+    /**
+     * Issue time to the millisecond from {@code iat_ms}, or the whole second from {@code iat}
+     * on tokens issued before it was added.
+     */
+    private static Instant issuedAt(Claims claims) {
+        Long issuedAtMillis = claims.get("iat_ms", Long.class);
+        if (issuedAtMillis != null) {
+            return Instant.ofEpochMilli(issuedAtMillis);
+        }
+        return claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null;
+    }
+
     private Claims parseToken(String token) {
-        return Jwts.parser()
-                .verifyWith(key)
-                .build()
+        return parser
                 .parseSignedClaims(token)
                 .getPayload();
     }
 
+    private static String digest(String token) {
+        return HexFormat.of().formatHex(sha256(token));
+    }
+
+    private static byte[] sha256(String value) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
     public long getAccessTokenExpiration() {
         return jwtProperties.getAccessTokenExpiration();
     }
@@ -0,0 +1,67 @@
+package com.hytaleonlinelist.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * In-memory token buckets. Each bucket is an immutable (tokens, timestamp) pair swapped
+ * with compare-and-set, so concurrent requests never block each other.
+ *
+ * A bucket left idle for a full period is back at capacity, so it is dropped and
+ * recreated on the next request; memory stays proportional to active callers.
+ */
+@Component
+public class LocalRateLimitBackend implements RateLimitBackend {
+
+    private static final int MAX_BUCKETS = 200_000;
+
+    private final Cache<String, Bucket> buckets = Caffeine.newBuilder()
+            .maximumSize(MAX_BUCKETS)
+            .expireAfter(Expiry.accessing((String key, Bucket bucket) -> bucket.period))
+            .build();
+
+    @Override
+    public Duration tryConsume(String key, int capacity, Duration period) {
+        Bucket bucket = buckets.get(key, k -> new Bucket(capacity, period));
+        return Duration.ofNanos(bucket.tryConsume());
+    }
+
+    private static final class Bucket {
+
+        private final int capacity;
+        private final Duration period;
+        private final double tokensPerNano;
+        private final AtomicReference<State> state;
+
+        Bucket(int capacity, Duration period) {
+            this.capacity = capacity;
+            this.period = period;
+            this.tokensPerNano = (double) capacity / period.toNanos();
+            this.state = new AtomicReference<>(new State(capacity, System.nanoTime()));
+        }
+
+        /**
+         * @return 0 if a token was taken, otherwise nanos until the next token
+         */
+        long tryConsume() {
+            while (true) {
+                State current = state.get();
+                long now = System.nanoTime();
+                double tokens = Math.min(capacity, current.tokens() + (now - current.updatedAt()) * tokensPerNano);
+                if (tokens < 1) {
+                    return (long) Math.ceil((1 - tokens) / tokensPerNano);
+                }
+                if (state.compareAndSet(current, new State(tokens - 1, now))) {
+                    return 0;
+                }
+            }
+        }
+    }
+
+    private record State(double tokens, long updatedAt) {}
+}
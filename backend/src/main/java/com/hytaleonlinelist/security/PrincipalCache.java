@@ -0,0 +1,65 @@
+package com.hytaleonlinelist.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hytaleonlinelist.config.CacheProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+
+/**
+ * Short-lived cache of authenticated principals by user id, so a request carrying an
+ * access token does not cost a {@code users} lookup.
+ *
+ * The TTL bounds how long an unnoticed change can go unseen; ban, role, password and
+ * email verification changes evict the user explicitly.
+ */
+@Component
+public class PrincipalCache {
+
+    private final CustomUserDetailsService userDetailsService;
+    private final Cache<UUID, UserPrincipal> principals;
+
+    public PrincipalCache(
+            CustomUserDetailsService userDetailsService,
+            CacheProperties properties,
+            MeterRegistry meterRegistry) {
+        this.userDetailsService = userDetailsService;
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(properties.getPrincipalMaxEntries())
+                .expireAfterWrite(properties.getPrincipalTtl())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, principals, "principals");
+    }
+
+    /**
+     * The principal for a user, loading it on a miss.
+     *
+     * @throws org.springframework.security.core.userdetails.UsernameNotFoundException if the user no longer exists
+     */
+    public UserPrincipal get(UUID userId) {
+        return principals.get(userId, id -> (UserPrincipal) userDetailsService.loadUserById(id));
+    }
+
+    /**
+     * Drop a user's principal now and again after the current transaction commits,
+     * so a request racing the change cannot re-cache the old state.
+     */
+    public void evict(UUID userId) {
+        principals.invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    principals.invalidate(userId);
+                }
+            });
+        }
+    }
+}
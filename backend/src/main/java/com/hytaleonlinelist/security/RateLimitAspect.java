@@ -0,0 +1,56 @@
+package com.hytaleonlinelist.security;
+
+import com.hytaleonlinelist.exception.TooManyRequestsException;
+import com.hytaleonlinelist.util.RequestUtils;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Before;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+
+@Aspect
+@Component
+public class RateLimitAspect {
+
+    private final RateLimitBackend backend;
+    private final boolean enabled;
+
+    public RateLimitAspect(RateLimitBackend backend, @Value("${rate-limit.enabled:true}") boolean enabled) {
+        this.backend = backend;
+        this.enabled = enabled;
+    }
+
+    @Before("@annotation(RateLimited) || @annotation(RateLimits)")
+    public void checkRateLimit(JoinPoint joinPoint) {
+        if (!enabled) {
+            return;
+        }
+
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        for (RateLimited limit : AnnotatedElementUtils.findMergedRepeatableAnnotations(method, RateLimited.class)) {
+            String key = limit.name() + ":" + subject(limit.key());
+            Duration wait = backend.tryConsume(key, limit.capacity(), Duration.ofSeconds(limit.periodSeconds()));
+            if (!wait.isZero()) {
+                long retryAfterSeconds = Math.max(1, (wait.toMillis() + 999) / 1000);
+                throw new TooManyRequestsException(limit.message(), retryAfterSeconds);
+            }
+        }
+    }
+
+    private static String subject(RateLimited.Key key) {
+        if (key == RateLimited.Key.USER) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal) {
+                return "user:" + principal.id();
+            }
+        }
+        return "ip:" + RequestUtils.getClientIpFromContext();
+    }
+}
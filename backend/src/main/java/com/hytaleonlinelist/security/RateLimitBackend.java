@@ -0,0 +1,20 @@
+package com.hytaleonlinelist.security;
+
+import java.time.Duration;
+
+/**
+ * Token bucket storage behind {@link RateLimited}.
+ * The default is node-local; a shared implementation can replace it to enforce limits across nodes.
+ */
+public interface RateLimitBackend {
+
+    /**
+     * Take one token from the bucket, creating it full if absent.
+     *
+     * @param key      bucket key
+     * @param capacity maximum tokens, also the number refilled per period
+     * @param period   time for an empty bucket to refill completely
+     * @return zero if a token was taken, otherwise how long until one is available
+     */
+    Duration tryConsume(String key, int capacity, Duration period);
+}
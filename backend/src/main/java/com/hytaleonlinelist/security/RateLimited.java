@@ -0,0 +1,36 @@
+package com.hytaleonlinelist.security;
+
+import java.lang.annotation.*;
+
+/**
+ * Rate-limits a controller method with a token bucket of {@code capacity} requests that
+ * refills completely over {@code periodSeconds}. Repeat the annotation to combine limits,
+ * e.g. a short burst limit and a daily cap. Callers over the limit get a
+ * TooManyRequestsException (429) before the method runs.
+ *
+ * Methods sharing a {@code name} share the bucket, so related endpoints can draw from one budget.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Repeatable(RateLimits.class)
+public @interface RateLimited {
+
+    /**
+     * Bucket name, e.g. "auth-login".
+     */
+    String name();
+
+    int capacity();
+
+    long periodSeconds();
+
+    /**
+     * Who the bucket belongs to. USER falls back to the client IP for anonymous requests.
+     */
+    Key key() default Key.IP;
+
+    String message() default "Too many requests. Please try again later.";
+
+    enum Key { IP, USER }
+}
@@ -0,0 +1,14 @@
+package com.hytaleonlinelist.security;
+
+import java.lang.annotation.*;
+
+/**
+ * Container for repeated {@link RateLimited} annotations.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RateLimits {
+
+    RateLimited[] value();
+}
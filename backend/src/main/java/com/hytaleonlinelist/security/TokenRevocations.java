@@ -0,0 +1,147 @@
+package com.hytaleonlinelist.security;
+
+import com.hytaleonlinelist.domain.entity.AuthRevocationEntity;
+import com.hytaleonlinelist.domain.repository.AuthRevocationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Invalidates what was derived from a user's previous auth state: the cached principal
+ * and, in stateless mode, every access token issued up to now.
+ *
+ * A revocation is a per-user "revoked at" time rather than a token id list, so logging
+ * out or banning a user with several sessions is one entry. Revocations are written to
+ * {@code auth_revocations} and each node polls for new ones, so a request is checked
+ * against memory only. Entries older than the access token lifetime are dropped, since
+ * every token they could reject has expired.
+ */
+@Component
+public class TokenRevocations {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocations.class);
+
+    /**
+     * How far back each poll looks, so revocations committed late by slow transactions are still seen.
+     */
+    private static final Duration SYNC_OVERLAP = Duration.ofMinutes(1);
+
+    private final AuthRevocationRepository revocationRepository;
+    private final PrincipalCache principalCache;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean stateless;
+    private final Duration tokenLifetime;
+    private final Map<UUID, Instant> revokedAt = new ConcurrentHashMap<>();
+    private volatile Instant lastSync;
+
+    public TokenRevocations(
+            AuthRevocationRepository revocationRepository,
+            PrincipalCache principalCache,
+            TransactionTemplate transactionTemplate,
+            JwtProperties jwtProperties) {
+        this.revocationRepository = revocationRepository;
+        this.principalCache = principalCache;
+        this.transactionTemplate = transactionTemplate;
+        this.stateless = jwtProperties.isStateless();
+        this.tokenLifetime = Duration.ofMillis(jwtProperties.getAccessTokenExpiration());
+    }
+
+    /**
+     * Revoke a user's current auth state. Must be called inside the transaction making the change.
+     */
+    public void revoke(UUID userId) {
+        principalCache.evict(userId);
+        if (!stateless) {
+            return;
+        }
+
+        Instant now = Instant.now();
+        revocationRepository.upsert(userId, now);
+        // Applied locally once committed, so a rolled-back change revokes nothing;
+        // other nodes pick it up from the table
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    applyRevocation(userId, now);
+                }
+            });
+        } else {
+            applyRevocation(userId, now);
+        }
+    }
+
+    /**
+     * Whether a token was issued at or before its user's latest revocation, compared to
+     * the millisecond. Tokens whose issue time only has whole seconds fall on or before
+     * a revocation in the same second, so those are rejected too.
+     */
+    public boolean isRevoked(AccessTokenClaims claims) {
+        Instant revoked = revokedAt.get(claims.userId());
+        if (revoked == null) {
+            return false;
+        }
+        return claims.issuedAt() == null || !claims.issuedAt().isAfter(revoked.truncatedTo(ChronoUnit.MILLIS));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (stateless) {
+            sync();
+        }
+    }
+
+    /**
+     * Pull revocations written by other nodes.
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation-sync-interval-ms:5000}")
+    public void sync() {
+        if (!stateless) {
+            return;
+        }
+
+        try {
+            Instant start = Instant.now();
+            Instant since = lastSync != null ? lastSync.minus(SYNC_OVERLAP) : start.minus(tokenLifetime);
+            for (AuthRevocationEntity revocation : revocationRepository.findByRevokedAtAfter(since)) {
+                applyRevocation(revocation.getUserId(), revocation.getRevokedAt());
+            }
+            lastSync = start;
+
+            Instant expired = start.minus(tokenLifetime);
+            revokedAt.values().removeIf(at -> at.isBefore(expired));
+        } catch (Exception e) {
+            log.error("Failed to sync token revocations: {}", e.getMessage(), e);
+        }
+    }
+
+    private void applyRevocation(UUID userId, Instant at) {
+        revokedAt.merge(userId, at, (a, b) -> a.isAfter(b) ? a : b);
+    }
+
+    /**
+     * Drop revocations no token can be affected by anymore.
+     */
+    @Scheduled(cron = "0 45 * * * *")
+    public void purge() {
+        if (!stateless) {
+            return;
+        }
+        Instant cutoff = Instant.now().minus(tokenLifetime);
+        Integer deleted = transactionTemplate.execute(status -> revocationRepository.deleteRevokedBefore(cutoff));
+        log.debug("Purged {} expired token revocations", deleted);
+    }
+}
@@ -35,6 +35,26 @@ public record UserPrincipal(
         );
     }
 
+    /**
+     * Builds a principal from verified access token claims, without loading the user.
+     * The password is not carried in tokens and is null.
+     */
+    public static UserPrincipal from(AccessTokenClaims claims) {
+        List<GrantedAuthority> authorities = List.of(
+                new SimpleGrantedAuthority("ROLE_" + claims.role())
+        );
+
+        return new UserPrincipal(
+                claims.userId(),
+                claims.email(),
+                claims.username(),
+                null,
+                claims.emailVerified(),
+                claims.banned(),
+                authorities
+        );
+    }
+
     @Override
     public String getUsername() {
         return email;
@@ -7,6 +7,8 @@ import com.hytaleonlinelist.dto.request.ChangeRoleRequest;
 import com.hytaleonlinelist.dto.response.*;
 import com.hytaleonlinelist.exception.BadRequestException;
 import com.hytaleonlinelist.exception.ResourceNotFoundException;
+import com.hytaleonlinelist.security.TokenRevocations;
+import com.hytaleonlinelist.service.cache.ServerCacheVersions;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -26,18 +28,24 @@ public class AdminService {
 
     private final UserRepository userRepository;
     private final ServerRepository serverRepository;
-    private final VoteRepository voteRepository;
+    private final VoteDailyCountRepository voteDailyCountRepository;
     private final AdminActionRepository adminActionRepository;
+    private final ServerCacheVersions cacheVersions;
+    private final TokenRevocations tokenRevocations;
 
     public AdminService(
             UserRepository userRepository,
             ServerRepository serverRepository,
-            VoteRepository voteRepository,
-            AdminActionRepository adminActionRepository) {
+            VoteDailyCountRepository voteDailyCountRepository,
+            AdminActionRepository adminActionRepository,
+            ServerCacheVersions cacheVersions,
+            TokenRevocations tokenRevocations) {
         this.userRepository = userRepository;
         this.serverRepository = serverRepository;
-        this.voteRepository = voteRepository;
+        this.voteDailyCountRepository = voteDailyCountRepository;
         this.adminActionRepository = adminActionRepository;
+        this.cacheVersions = cacheVersions;
+        this.tokenRevocations = tokenRevocations;
     }
 
     public AdminStatsResponse getStats() {
@@ -45,7 +53,7 @@ public class AdminService {
 
         long totalUsers = userRepository.count();
         long totalServers = serverRepository.count();
-        long totalVotes = voteRepository.count();
+        long totalVotes = voteDailyCountRepository.getTotalVoteCount();
         long newUsersToday = userRepository.countUsersCreatedSince(todayStart);
         long newServersToday = serverRepository.countServersCreatedSince(todayStart);
 
@@ -107,6 +115,7 @@ public class AdminService {
         boolean newFeaturedStatus = !server.getIsFeatured();
         server.setIsFeatured(newFeaturedStatus);
         serverRepository.save(server);
+        cacheVersions.bumpServer(serverId);
 
         logAction(admin,
                 newFeaturedStatus ? AdminActionType.SERVER_FEATURED : AdminActionType.SERVER_UNFEATURED,
@@ -128,6 +137,7 @@ public class AdminService {
         boolean newVerifiedStatus = !server.getIsVerified();
         server.setIsVerified(newVerifiedStatus);
         serverRepository.save(server);
+        cacheVersions.bumpServer(serverId);
 
         logAction(admin,
                 newVerifiedStatus ? AdminActionType.SERVER_VERIFIED : AdminActionType.SERVER_UNVERIFIED,
@@ -148,6 +158,7 @@ public class AdminService {
 
         String serverName = server.getName();
         serverRepository.delete(server);
+        cacheVersions.bumpServer(serverId);
 
         logAction(admin,
                 AdminActionType.SERVER_DELETED,
@@ -176,6 +187,7 @@ public class AdminService {
         user.setBannedAt(Instant.now());
         user.setBannedReason(request.reason());
         userRepository.save(user);
+        tokenRevocations.revoke(userId);
 
         logAction(admin,
                 AdminActionType.USER_BANNED,
@@ -198,6 +210,7 @@ public class AdminService {
         user.setBannedAt(null);
         user.setBannedReason(null);
         userRepository.save(user);
+        tokenRevocations.revoke(userId);
 
         logAction(admin,
                 AdminActionType.USER_UNBANNED,
@@ -225,6 +238,7 @@ public class AdminService {
 
         user.setRole(newRole);
         userRepository.save(user);
+        tokenRevocations.revoke(userId);
 
         logAction(admin,
                 AdminActionType.USER_ROLE_CHANGED,
@@ -302,6 +316,7 @@ public class AdminService {
 
         if (updated > 0) {
             serverRepository.saveAll(allServers);
+            cacheVersions.bumpAll();
         }
 
         return new ViewCountFixResult(updated, totalViewsAdded);
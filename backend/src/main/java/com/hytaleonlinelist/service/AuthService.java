@@ -1,5 +1,7 @@
 package com.hytaleonlinelist.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.hytaleonlinelist.domain.entity.RefreshTokenEntity;
 import com.hytaleonlinelist.domain.entity.Role;
 import com.hytaleonlinelist.domain.entity.UserEntity;
@@ -14,6 +16,7 @@ import com.hytaleonlinelist.exception.ResourceNotFoundException;
 import com.hytaleonlinelist.exception.UnauthorizedException;
 import com.hytaleonlinelist.security.CookieUtils;
 import com.hytaleonlinelist.security.JwtTokenProvider;
+import com.hytaleonlinelist.security.TokenRevocations;
 import com.hytaleonlinelist.security.UserPrincipal;
 import com.hytaleonlinelist.util.RequestUtils;
 import jakarta.servlet.http.HttpServletResponse;
@@ -26,10 +29,15 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
 import java.util.UUID;
 
 @Service
@@ -41,6 +49,9 @@ public class AuthService {
     private static final int MAX_FAILED_ATTEMPTS = 5;
     private static final Duration LOCKOUT_DURATION = Duration.ofMinutes(15);
 
+    // Window in which a just-rotated refresh token still yields a fresh access token
+    private static final Duration ROTATION_GRACE = Duration.ofSeconds(10);
+
     private final UserRepository userRepository;
     private final RefreshTokenRepository refreshTokenRepository;
     private final PasswordEncoder passwordEncoder;
@@ -48,6 +59,15 @@ public class AuthService {
     private final AuthenticationManager authenticationManager;
     private final CookieUtils cookieUtils;
     private final EmailServiceInterface emailService;
+    private final TokenRevocations tokenRevocations;
+
+    /**
+     * Refresh tokens rotated in the last few seconds on this node, by token hash.
+     */
+    private final Cache<String, Rotation> recentRotations = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterWrite(ROTATION_GRACE)
+            .build();
 
     public AuthService(
             UserRepository userRepository,
@@ -56,7 +76,8 @@ public class AuthService {
             JwtTokenProvider jwtTokenProvider,
             AuthenticationManager authenticationManager,
             CookieUtils cookieUtils,
-            EmailServiceInterface emailService) {
+            EmailServiceInterface emailService,
+            TokenRevocations tokenRevocations) {
         this.userRepository = userRepository;
         this.refreshTokenRepository = refreshTokenRepository;
         this.passwordEncoder = passwordEncoder;
@@ -64,6 +85,7 @@ public class AuthService {
         this.authenticationManager = authenticationManager;
         this.cookieUtils = cookieUtils;
         this.emailService = emailService;
+        this.tokenRevocations = tokenRevocations;
     }
 
     @Transactional
@@ -157,8 +179,9 @@ public class AuthService {
     @Transactional
     public void logout(UUID userId, HttpServletResponse response) {
         userRepository.findById(userId).ifPresent(user -> {
-            refreshTokenRepository.revokeAllByUser(user);
+            refreshTokenRepository.revokeAllByUser(user, Instant.now());
         });
+        tokenRevocations.revoke(userId);
         cookieUtils.clearAuthCookies(response);
     }
 
@@ -168,24 +191,44 @@ public class AuthService {
             throw new UnauthorizedException("Refresh token required");
         }
 
-        RefreshTokenEntity tokenEntity = refreshTokenRepository
-                .findByTokenAndRevokedFalse(refreshToken)
-                .orElseThrow(() -> new UnauthorizedException("Invalid refresh token"));
+        byte[] tokenHash = jwtTokenProvider.hashRefreshToken(refreshToken);
+        Instant now = Instant.now();
 
-        if (tokenEntity.getExpiresAt().isBefore(Instant.now())) {
-            tokenEntity.setRevoked(true);
-            refreshTokenRepository.save(tokenEntity);
-            throw new UnauthorizedException("Refresh token expired");
+        // Tabs refreshing in parallel all present the same token. The losers only get an access
+        // token: the winner's response already put the successor in the browser's shared cookie jar
+        String rotationKey = HexFormat.of().formatHex(tokenHash);
+        String clientIp = RequestUtils.getClientIpFromContext();
+        Rotation recent = recentRotations.getIfPresent(rotationKey);
+        if (recent != null) {
+            if (!Objects.equals(recent.clientIp(), clientIp)
+                    || !refreshTokenRepository.isActive(recent.successorHash(), now)) {
+                throw new UnauthorizedException("Invalid refresh token");
+            }
+            UserEntity user = userRepository.findById(recent.userId())
+                    .orElseThrow(() -> new UnauthorizedException("Invalid refresh token"));
+            writeAccessTokenCookie(user, response);
+            return toAuthResponse(user);
         }
 
-        UserEntity user = tokenEntity.getUser();
+        // Revoke old token (atomically, so a token can only be rotated once)
+        List<UUID> rotated = refreshTokenRepository.revokeIfActive(tokenHash, now);
+        if (rotated.isEmpty()) {
+            throw new UnauthorizedException("Invalid or expired refresh token");
+        }
 
-        // Revoke old token
-        tokenEntity.setRevoked(true);
-        refreshTokenRepository.save(tokenEntity);
+        UserEntity user = userRepository.findById(rotated.get(0))
+                .orElseThrow(() -> new UnauthorizedException("Invalid refresh token"));
 
         // Generate new tokens
-        setAuthCookies(user, response);
+        String successor = setAuthCookies(user, response);
+        Rotation rotation = new Rotation(user.getId(), jwtTokenProvider.hashRefreshToken(successor), clientIp);
+        // Only once the successor row is committed, so a parallel refresh never finds it missing
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recentRotations.put(rotationKey, rotation);
+            }
+        });
 
         return toAuthResponse(user);
     }
@@ -203,6 +246,7 @@ public class AuthService {
         user.setEmailVerificationToken(null);
         user.setEmailVerificationTokenExpiry(null);
         userRepository.save(user);
+        tokenRevocations.revoke(user.getId());
     }
 
     @Transactional
@@ -270,34 +314,54 @@ public class AuthService {
 
         // Invalidate all refresh tokens for security
         refreshTokenRepository.deleteByUserId(user.getId());
+        tokenRevocations.revoke(user.getId());
     }
 
-    private void setAuthCookies(UserEntity user, HttpServletResponse response) {
-        // Generate access token
-        String accessToken = jwtTokenProvider.generateAccessToken(
-                user.getId(), user.getEmail(), user.getRole().name()
-        );
-
+    /**
+     * Issue a new refresh token and set both auth cookies.
+     *
+     * @return the new refresh token
+     */
+    private String setAuthCookies(UserEntity user, HttpServletResponse response) {
         // Generate refresh token
         String refreshToken = jwtTokenProvider.generateRefreshToken();
 
-        // Save refresh token to database
+        // Save refresh token hash to database
         RefreshTokenEntity refreshTokenEntity = new RefreshTokenEntity();
-        refreshTokenEntity.setToken(refreshToken);
+        refreshTokenEntity.setTokenHash(jwtTokenProvider.hashRefreshToken(refreshToken));
         refreshTokenEntity.setUser(user);
         refreshTokenEntity.setExpiresAt(
                 Instant.now().plusMillis(jwtTokenProvider.getRefreshTokenExpiration())
         );
         refreshTokenRepository.save(refreshTokenEntity);
 
-        // Set cookies (convert milliseconds to seconds)
-        int accessTokenMaxAge = (int) (jwtTokenProvider.getAccessTokenExpiration() / 1000);
+        writeAuthCookies(user, refreshToken, response);
+        return refreshToken;
+    }
+
+    private void writeAuthCookies(UserEntity user, String refreshToken, HttpServletResponse response) {
+        writeAccessTokenCookie(user, response);
+
+        // Set cookie (convert milliseconds to seconds)
         int refreshTokenMaxAge = (int) (jwtTokenProvider.getRefreshTokenExpiration() / 1000);
+        cookieUtils.addRefreshTokenCookie(response, refreshToken, refreshTokenMaxAge);
+    }
+
+    private void writeAccessTokenCookie(UserEntity user, HttpServletResponse response) {
+        // Generate access token
+        String accessToken = jwtTokenProvider.generateAccessToken(user);
 
+        // Set cookie (convert milliseconds to seconds)
+        int accessTokenMaxAge = (int) (jwtTokenProvider.getAccessTokenExpiration() / 1000);
         cookieUtils.addAccessTokenCookie(response, accessToken, accessTokenMaxAge);
-        cookieUtils.addRefreshTokenCookie(response, refreshToken, refreshTokenMaxAge);
     }
 
+    /**
+     * A rotation within the grace window: who it was for, the successor's hash and the
+     * address it was made from. The successor itself is never handed out again.
+     */
+    private record Rotation(UUID userId, byte[] successorHash, String clientIp) {}
+
     private AuthResponse toAuthResponse(UserEntity user) {
         return new AuthResponse(
                 user.getId().toString(),
@@ -23,9 +23,10 @@ public class ClaimExpirationSchedulerService {
 
     /**
      * Mark expired pending claims as EXPIRED.
-     * Runs every 5 minutes.
+     * Claims are normally expired on time by {@link ClaimExpiryTimers}; this hourly
+     * sweep catches any whose timer was lost (e.g. set on a node that went away).
      */
-    @Scheduled(fixedRate = 300000) // 5 minutes
+    @Scheduled(fixedRate = 3600000) // 1 hour
     public void expirePendingClaims() {
         try {
             int expired = claimService.expirePendingClaims();
@@ -0,0 +1,100 @@
+package com.hytaleonlinelist.service;
+
+import com.hytaleonlinelist.domain.repository.ServerClaimInitiationRepository;
+import com.hytaleonlinelist.util.TimerWheel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Expires pending claim initiations at their {@code expiresAt}, to the second.
+ *
+ * Every pending initiation has a timer in a {@link TimerWheel}: loaded from the database
+ * at startup, added when a claim is initiated, and removed when it is cancelled or
+ * verified. Each tick marks the claims that came due with a small batched UPDATE that
+ * only touches rows still pending and past their expiry, so a stale timer (for example
+ * one set on another node before the claim was renewed) is harmless.
+ *
+ * {@link ClaimExpirationSchedulerService} keeps an hourly table-wide sweep as a safety net.
+ */
+@Component
+public class ClaimExpiryTimers {
+
+    private static final Logger log = LoggerFactory.getLogger(ClaimExpiryTimers.class);
+
+    private static final long TICK_MILLIS = 1000;
+    private static final int BATCH_SIZE = 500;
+
+    private final ServerClaimInitiationRepository claimInitiationRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TimerWheel<UUID> wheel = new TimerWheel<>(TICK_MILLIS, System.currentTimeMillis());
+
+    public ClaimExpiryTimers(
+            ServerClaimInitiationRepository claimInitiationRepository,
+            TransactionTemplate transactionTemplate) {
+        this.claimInitiationRepository = claimInitiationRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Set (or move) the expiry timer of a pending initiation.
+     */
+    public synchronized void schedule(UUID initiationId, Instant expiresAt) {
+        wheel.schedule(initiationId, expiresAt.toEpochMilli());
+    }
+
+    /**
+     * Drop the timer of an initiation that is no longer pending.
+     */
+    public synchronized void cancel(UUID initiationId) {
+        wheel.cancel(initiationId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        List<Object[]> pending = claimInitiationRepository.findPendingExpiries();
+        for (Object[] row : pending) {
+            schedule((UUID) row[0], (Instant) row[1]);
+        }
+        log.info("Loaded expiry timers for {} pending claims", pending.size());
+    }
+
+    /**
+     * Expire the claims whose timers came due.
+     */
+    @Scheduled(fixedDelay = TICK_MILLIS)
+    public void expireDue() {
+        List<UUID> due;
+        synchronized (this) {
+            due = wheel.advance(System.currentTimeMillis());
+        }
+        if (due.isEmpty()) {
+            return;
+        }
+
+        Instant now = Instant.now();
+        int expired = 0;
+        for (int from = 0; from < due.size(); from += BATCH_SIZE) {
+            List<UUID> batch = due.subList(from, Math.min(from + BATCH_SIZE, due.size()));
+            try {
+                Integer updated = transactionTemplate.execute(status ->
+                        claimInitiationRepository.markExpired(batch, now));
+                expired += updated != null ? updated : 0;
+            } catch (Exception e) {
+                // The hourly sweep picks these up
+                log.error("Failed to expire {} claims: {}", batch.size(), e.getMessage(), e);
+            }
+        }
+        if (expired > 0) {
+            log.info("Marked {} pending claims as expired", expired);
+        }
+    }
+}
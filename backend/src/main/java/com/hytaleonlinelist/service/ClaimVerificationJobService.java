@@ -0,0 +1,148 @@
+package com.hytaleonlinelist.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hytaleonlinelist.domain.entity.ServerClaimAttemptEntity;
+import com.hytaleonlinelist.domain.entity.VerificationMethod;
+import com.hytaleonlinelist.dto.response.ClaimVerificationJobResponse;
+import com.hytaleonlinelist.dto.response.VerificationResultResponse;
+import com.hytaleonlinelist.exception.ResourceNotFoundException;
+import com.hytaleonlinelist.service.ServerClaimService.VerificationTicket;
+import com.hytaleonlinelist.service.verification.ServerVerifier.VerificationResult;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs claim verifications as background jobs.
+ *
+ * Submitting validates the request in a short transaction and returns a job id right
+ * away; the verifier's network I/O then runs on a virtual thread without a transaction
+ * or a servlet thread, and only the outcome is written in a second short transaction.
+ * Clients poll the job until it completes.
+ *
+ * A job's id is the id of its claim attempt row, which is written when it starts and
+ * completed with its outcome, so a poll that reaches another instance is answered from
+ * the database. The accepting instance also keeps the job in memory for an hour, which
+ * answers its own polls without a query.
+ */
+@Service
+public class ClaimVerificationJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClaimVerificationJobService.class);
+
+    private static final Duration JOB_RETENTION = Duration.ofHours(1);
+    // A pending attempt this old lost its instance mid-run; verifiers give up within seconds
+    private static final Duration ABANDONED_AFTER = Duration.ofMinutes(5);
+    private static final String FAILED_MESSAGE = "Verification could not be completed. Please try again.";
+
+    public enum Status { PENDING, COMPLETED, FAILED }
+
+    private final ServerClaimService claimService;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Cache<UUID, Job> jobs = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterWrite(JOB_RETENTION)
+            .build();
+
+    public ClaimVerificationJobService(ServerClaimService claimService) {
+        this.claimService = claimService;
+    }
+
+    /**
+     * Validate a verification attempt and start it in the background.
+     * Validation errors are thrown here, before a job is created.
+     */
+    public ClaimVerificationJobResponse submit(UUID serverId, UUID userId, VerificationMethod method) {
+        VerificationTicket ticket = claimService.prepareVerification(serverId, userId, method);
+
+        if (ticket.alreadyVerified()) {
+            // Nothing to run, so there is no job to poll
+            return new ClaimVerificationJobResponse(null, Status.COMPLETED.name(), new VerificationResultResponse(
+                    serverId.toString(), true, ticket.method(), "This server is already verified."), null);
+        }
+
+        UUID jobId = ticket.attemptId();
+        Job pending = new Job(serverId, userId, Status.PENDING, null, null);
+        jobs.put(jobId, pending);
+        executor.execute(() -> run(jobId, ticket));
+        return pending.toResponse(jobId);
+    }
+
+    /**
+     * Current state of one of the user's jobs on a server.
+     */
+    public ClaimVerificationJobResponse getJob(UUID serverId, UUID jobId, UUID userId) {
+        Job job = jobs.getIfPresent(jobId);
+        if (job != null) {
+            if (!job.serverId().equals(serverId) || !job.userId().equals(userId)) {
+                throw new ResourceNotFoundException("Verification job not found");
+            }
+            return job.toResponse(jobId);
+        }
+
+        // Accepted by another instance (or this one before a restart)
+        ServerClaimAttemptEntity attempt = claimService.getVerificationAttempt(serverId, jobId, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Verification job not found"));
+        return fromAttempt(serverId, userId, attempt).toResponse(jobId);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private void run(UUID jobId, VerificationTicket ticket) {
+        UUID serverId = ticket.server().getId();
+        UUID userId = ticket.user().getId();
+        try {
+            VerificationResult result = claimService.runVerification(ticket);
+            VerificationResultResponse response = claimService.completeVerification(ticket, result);
+            jobs.put(jobId, new Job(serverId, userId, Status.COMPLETED, response, null));
+        } catch (Exception e) {
+            logger.error("Verification job {} for server {} failed: {}", jobId, serverId, e.getMessage(), e);
+            jobs.put(jobId, new Job(serverId, userId, Status.FAILED, null, FAILED_MESSAGE));
+            try {
+                claimService.failVerification(jobId, FAILED_MESSAGE);
+            } catch (Exception recordError) {
+                logger.warn("Could not record failure of verification job {}: {}", jobId, recordError.getMessage());
+            }
+        }
+    }
+
+    private static Job fromAttempt(UUID serverId, UUID userId, ServerClaimAttemptEntity attempt) {
+        if (attempt.getCompletedAt() == null) {
+            boolean abandoned = attempt.getAttemptedAt().plus(ABANDONED_AFTER).isBefore(Instant.now());
+            return abandoned
+                    ? new Job(serverId, userId, Status.FAILED, null, FAILED_MESSAGE)
+                    : new Job(serverId, userId, Status.PENDING, null, null);
+        }
+
+        boolean verified = Boolean.TRUE.equals(attempt.getIsSuccessful());
+        String message = verified
+                ? "Server ownership verified successfully."
+                : attempt.getFailureReason();
+        return new Job(serverId, userId, Status.COMPLETED, new VerificationResultResponse(
+                serverId.toString(), verified, attempt.getVerificationMethod(), message), null);
+    }
+
+    private record Job(
+            UUID serverId,
+            UUID userId,
+            Status status,
+            VerificationResultResponse result,
+            String error
+    ) {
+
+        ClaimVerificationJobResponse toResponse(UUID jobId) {
+            return new ClaimVerificationJobResponse(jobId.toString(), status.name(), result, error);
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.hytaleonlinelist.service;
 import com.hytaleonlinelist.config.R2Properties;
 import com.hytaleonlinelist.dto.response.UploadResponse;
 import com.hytaleonlinelist.exception.BadRequestException;
+import com.hytaleonlinelist.service.ImageProcessingService.Kind;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -10,16 +11,22 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
 import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 
+import java.awt.Dimension;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.OptionalLong;
 import java.util.Set;
 import java.util.UUID;
 
@@ -35,6 +42,12 @@ import java.util.UUID;
  * Where {identifier} is:
  * - Server slug (if known - for edits and imports)
  * - UUID only (for new server creation before slug exists)
+ *
+ * Uploads are streamed to R2 rather than read into memory: multipart files from their
+ * (disk-backed) input stream, imported images straight from the HTTP response. A body
+ * of unknown length goes up as a multipart upload, one part in memory at a time.
+ * Oversized icons, banners and avatars are then shrunk in the background by
+ * {@link ImageProcessingService}.
  */
 @Service
 @ConditionalOnProperty(prefix = "cloudflare.r2", name = "enabled", havingValue = "true")
@@ -61,14 +74,20 @@ public class FileUploadService {
     private static final long MAX_BANNER_SIZE = 5 * 1024 * 1024; // 5MB
     private static final long MAX_AVATAR_SIZE = 2 * 1024 * 1024; // 2MB
     private static final long MAX_IMPORT_IMAGE_SIZE = 10 * 1024 * 1024; // 10MB for imports
+    private static final int MULTIPART_PART_SIZE = 5 * 1024 * 1024; // S3/R2 minimum part size
 
     private final S3Client s3Client;
     private final R2Properties r2Properties;
+    private final ImageProcessingService imageProcessingService;
     private final HttpClient httpClient;
 
-    public FileUploadService(S3Client s3Client, R2Properties r2Properties) {
+    public FileUploadService(
+            S3Client s3Client,
+            R2Properties r2Properties,
+            ImageProcessingService imageProcessingService) {
         this.s3Client = s3Client;
         this.r2Properties = r2Properties;
+        this.imageProcessingService = imageProcessingService;
         this.httpClient = HttpClient.newBuilder()
                 .connectTimeout(Duration.ofSeconds(10))
                 .followRedirects(HttpClient.Redirect.NORMAL)
@@ -87,7 +106,7 @@ public class FileUploadService {
     public UploadResponse uploadIcon(MultipartFile file, String serverSlug) throws IOException {
         validateImageFile(file, MAX_ICON_SIZE);
         String key = generateServerImageKey("icons", serverSlug, getFileExtension(file.getOriginalFilename()));
-        return uploadFile(file, key);
+        return uploadImage(file, key, Kind.ICON);
     }
 
     /**
@@ -100,7 +119,7 @@ public class FileUploadService {
     public UploadResponse uploadBanner(MultipartFile file, String serverSlug) throws IOException {
         validateImageFile(file, MAX_BANNER_SIZE);
         String key = generateServerImageKey("banners", serverSlug, getFileExtension(file.getOriginalFilename()));
-        return uploadFile(file, key);
+        return uploadImage(file, key, Kind.BANNER);
     }
 
     // ==================== User Avatar Uploads ====================
@@ -115,7 +134,7 @@ public class FileUploadService {
     public UploadResponse uploadAvatar(MultipartFile file, UUID userId) throws IOException {
         validateImageFile(file, MAX_AVATAR_SIZE);
         String key = generateAvatarKey(userId, getFileExtension(file.getOriginalFilename()));
-        return uploadFile(file, key);
+        return uploadImage(file, key, Kind.AVATAR);
     }
 
     // ==================== URL-based Uploads (for imports) ====================
@@ -142,50 +161,57 @@ public class FileUploadService {
                     .GET()
                     .build();
 
-            HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
-
-            if (response.statusCode() != 200) {
-                log.warn("Failed to download image from {}: HTTP {}", imageUrl, response.statusCode());
-                return null;
-            }
-
-            byte[] imageData = response.body();
-
-            // Validate size
-            if (imageData.length > MAX_IMPORT_IMAGE_SIZE) {
-                log.warn("Image from {} exceeds max size: {} bytes", imageUrl, imageData.length);
-                return null;
-            }
-
-            // Determine content type and extension
-            String contentType = response.headers().firstValue("Content-Type").orElse(null);
-            String extension = determineExtension(imageUrl, contentType);
-
-            if (extension == null) {
-                log.warn("Could not determine image type for {}", imageUrl);
-                return null;
+            HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+
+            // Closing the body discards whatever the server has not sent yet
+            try (InputStream body = response.body()) {
+                if (response.statusCode() != 200) {
+                    log.warn("Failed to download image from {}: HTTP {}", imageUrl, response.statusCode());
+                    return null;
+                }
+
+                // Refuse oversized images before reading any of the body
+                OptionalLong contentLength = response.headers().firstValueAsLong("Content-Length");
+                if (contentLength.isPresent() && contentLength.getAsLong() > MAX_IMPORT_IMAGE_SIZE) {
+                    log.warn("Image from {} exceeds max size: {} bytes", imageUrl, contentLength.getAsLong());
+                    return null;
+                }
+
+                // Determine content type and extension
+                String contentType = response.headers().firstValue("Content-Type").orElse(null);
+                String extension = determineExtension(imageUrl, contentType);
+
+                if (extension == null) {
+                    log.warn("Could not determine image type for {}", imageUrl);
+                    return null;
+                }
+
+                // Determine actual content type from extension
+                String actualContentType = EXTENSION_TO_CONTENT_TYPE.getOrDefault(extension, "image/jpeg");
+
+                // Generate key using same pattern as regular uploads
+                String key = generateServerImageKey(folder, serverSlug, extension);
+
+                // Stream to R2
+                if (contentLength.isPresent()) {
+                    PutObjectRequest putRequest = PutObjectRequest.builder()
+                            .bucket(r2Properties.getBucketName())
+                            .key(key)
+                            .contentType(actualContentType)
+                            .build();
+                    s3Client.putObject(putRequest, RequestBody.fromInputStream(body, contentLength.getAsLong()));
+                } else {
+                    uploadStream(key, actualContentType, body, MAX_IMPORT_IMAGE_SIZE);
+                }
+
+                imageProcessingService.submit(key, Kind.forFolder(folder));
+
+                String publicUrl = r2Properties.getPublicUrl() + "/" + key;
+                log.debug("Uploaded image to R2: {}", publicUrl);
+
+                return publicUrl;
             }
 
-            // Determine actual content type from extension
-            String actualContentType = EXTENSION_TO_CONTENT_TYPE.getOrDefault(extension, "image/jpeg");
-
-            // Generate key using same pattern as regular uploads
-            String key = generateServerImageKey(folder, serverSlug, extension);
-
-            // Upload to R2
-            PutObjectRequest putRequest = PutObjectRequest.builder()
-                    .bucket(r2Properties.getBucketName())
-                    .key(key)
-                    .contentType(actualContentType)
-                    .build();
-
-            s3Client.putObject(putRequest, RequestBody.fromBytes(imageData));
-
-            String publicUrl = r2Properties.getPublicUrl() + "/" + key;
-            log.debug("Uploaded image to R2: {}", publicUrl);
-
-            return publicUrl;
-
         } catch (IOException | InterruptedException e) {
             log.warn("Error downloading/uploading image from {}: {}", imageUrl, e.getMessage());
             if (e instanceof InterruptedException) {
@@ -223,19 +249,67 @@ public class FileUploadService {
 
     // ==================== Private Helper Methods ====================
 
-    private UploadResponse uploadFile(MultipartFile file, String key) throws IOException {
+    private UploadResponse uploadImage(MultipartFile file, String key, Kind kind) throws IOException {
         PutObjectRequest putRequest = PutObjectRequest.builder()
                 .bucket(r2Properties.getBucketName())
                 .key(key)
                 .contentType(file.getContentType())
                 .build();
 
-        s3Client.putObject(putRequest, RequestBody.fromBytes(file.getBytes()));
+        try (InputStream in = file.getInputStream()) {
+            s3Client.putObject(putRequest, RequestBody.fromInputStream(in, file.getSize()));
+        }
+        imageProcessingService.submit(key, kind);
 
         String publicUrl = r2Properties.getPublicUrl() + "/" + key;
         return new UploadResponse(publicUrl, key, file.getSize());
     }
 
+    /**
+     * Upload a body of unknown length. A body that fits in one part is a single PUT;
+     * anything larger becomes a multipart upload that holds one part in memory at a time
+     * and is aborted as soon as more than {@code maxSize} bytes have arrived.
+     */
+    private long uploadStream(String key, String contentType, InputStream in, long maxSize) throws IOException {
+        String bucket = r2Properties.getBucketName();
+        byte[] part = in.readNBytes(MULTIPART_PART_SIZE);
+
+        if (part.length < MULTIPART_PART_SIZE) {
+            if (part.length > maxSize) {
+                throw new IOException("Upload exceeds the maximum size of " + maxSize + " bytes");
+            }
+            s3Client.putObject(b -> b.bucket(bucket).key(key).contentType(contentType), RequestBody.fromBytes(part));
+            return part.length;
+        }
+
+        String uploadId = s3Client.createMultipartUpload(b -> b.bucket(bucket).key(key).contentType(contentType))
+                .uploadId();
+        List<CompletedPart> completedParts = new ArrayList<>();
+        long total = 0;
+        try {
+            for (byte[] data = part; data.length > 0; data = in.readNBytes(MULTIPART_PART_SIZE)) {
+                total += data.length;
+                if (total > maxSize) {
+                    throw new IOException("Upload exceeds the maximum size of " + maxSize + " bytes");
+                }
+
+                int partNumber = completedParts.size() + 1;
+                String eTag = s3Client.uploadPart(
+                        b -> b.bucket(bucket).key(key).uploadId(uploadId).partNumber(partNumber),
+                        RequestBody.fromBytes(data)).eTag();
+                completedParts.add(CompletedPart.builder().partNumber(partNumber).eTag(eTag).build());
+            }
+
+            s3Client.completeMultipartUpload(b -> b.bucket(bucket).key(key).uploadId(uploadId)
+                    .multipartUpload(upload -> upload.parts(completedParts)));
+            return total;
+        } catch (IOException | RuntimeException e) {
+            // Don't leave orphaned parts behind in the bucket
+            s3Client.abortMultipartUpload(b -> b.bucket(bucket).key(key).uploadId(uploadId));
+            throw e;
+        }
+    }
+
     private void validateImageFile(MultipartFile file, long maxSize) {
         if (file.isEmpty()) {
             throw new BadRequestException("File is empty");
@@ -249,6 +323,19 @@ public class FileUploadService {
         if (file.getSize() > maxSize) {
             throw new BadRequestException("File size exceeds maximum allowed size of " + (maxSize / 1024 / 1024) + "MB");
         }
+
+        // Only the header is read; formats ImageIO cannot read (WebP) are not checked
+        Dimension dimensions;
+        try (InputStream in = file.getInputStream()) {
+            dimensions = ImageProcessingService.readDimensions(in);
+        } catch (IOException e) {
+            throw new BadRequestException("The file is not a valid image");
+        }
+        if (dimensions != null && (dimensions.width > ImageProcessingService.MAX_DIMENSION
+                || dimensions.height > ImageProcessingService.MAX_DIMENSION)) {
+            throw new BadRequestException("Image dimensions exceed the maximum of " +
+                    ImageProcessingService.MAX_DIMENSION + "x" + ImageProcessingService.MAX_DIMENSION + " pixels");
+        }
     }
 
     /**
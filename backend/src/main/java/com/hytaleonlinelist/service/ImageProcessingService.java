@@ -0,0 +1,333 @@
+package com.hytaleonlinelist.service;
+
+import com.hytaleonlinelist.config.R2Properties;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.w3c.dom.NodeList;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Shrinks uploaded images in the background to the largest size the site renders them at.
+ *
+ * The frontend serves R2 images through Cloudflare image transformations, which already
+ * resize per card and pick WebP/AVIF for the browser. What they cannot fix is the origin:
+ * a 5 MB, 4000px banner is fetched and transformed on every cache miss. So once an icon,
+ * banner or avatar is uploaded, a small bounded pool downloads it, and if it is larger
+ * than its {@link Kind} box (twice the biggest preset, for retina screens) scales it down
+ * and overwrites the object in place, keeping its format and URL.
+ *
+ * JPEG and PNG are processed; GIFs (possibly animated) and WebP are left as uploaded, and
+ * so are images with an EXIF orientation or ICC profile, which the re-encode would drop.
+ * The overwrite is conditional on the ETag that was read, so an object replaced or deleted
+ * while the job was queued is not overwritten or re-created. When the queue is full the
+ * job is dropped and the original is kept.
+ */
+@Service
+@ConditionalOnProperty(prefix = "cloudflare.r2", name = "enabled", havingValue = "true")
+public class ImageProcessingService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageProcessingService.class);
+
+    /** Larger images are rejected on upload (decompression bomb guard). */
+    public static final int MAX_DIMENSION = 8192;
+
+    private static final Set<String> PROCESSED_FORMATS = Set.of("jpeg", "png");
+    private static final float JPEG_QUALITY = 0.85f;
+
+    /**
+     * Largest box each kind of image is displayed in, at 2x.
+     */
+    public enum Kind {
+        ICON(256, 256),
+        BANNER(2400, 600),
+        AVATAR(192, 192);
+
+        private final int maxWidth;
+        private final int maxHeight;
+
+        Kind(int maxWidth, int maxHeight) {
+            this.maxWidth = maxWidth;
+            this.maxHeight = maxHeight;
+        }
+
+        /**
+         * Kind for an R2 folder ("icons", "banners", "avatars").
+         */
+        public static Kind forFolder(String folder) {
+            return switch (folder) {
+                case "icons" -> ICON;
+                case "avatars" -> AVATAR;
+                default -> BANNER;
+            };
+        }
+    }
+
+    private final S3Client s3Client;
+    private final R2Properties r2Properties;
+    private final ThreadPoolExecutor executor;
+
+    public ImageProcessingService(
+            S3Client s3Client,
+            R2Properties r2Properties,
+            @Value("${images.processing.threads:2}") int threads,
+            @Value("${images.processing.queue-capacity:200}") int queueCapacity) {
+        this.s3Client = s3Client;
+        this.r2Properties = r2Properties;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                threads, threads,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-processing-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (runnable, pool) -> log.warn("Image processing queue full, keeping an original as uploaded")
+        );
+    }
+
+    /**
+     * Read an image's dimensions from its header, without decoding it.
+     *
+     * @return the dimensions, or null if the format has no ImageIO reader (e.g. WebP)
+     */
+    public static Dimension readDimensions(InputStream in) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(in)) {
+            ImageReader reader = firstReader(input);
+            if (reader == null) {
+                return null;
+            }
+            try {
+                reader.setInput(input, true, true);
+                return new Dimension(reader.getWidth(0), reader.getHeight(0));
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Queue an uploaded object for downscaling.
+     */
+    public void submit(String key, Kind kind) {
+        executor.execute(() -> {
+            try {
+                process(key, kind);
+            } catch (Exception e) {
+                // The original stays in place and is still served
+                log.warn("Failed to process image {}: {}", key, e.getMessage());
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private void process(String key, Kind kind) throws IOException {
+        String bucket = r2Properties.getBucketName();
+
+        try (ResponseInputStream<GetObjectResponse> object = s3Client.getObject(b -> b.bucket(bucket).key(key));
+             ImageInputStream input = ImageIO.createImageInputStream(object)) {
+            long originalSize = object.response().contentLength();
+
+            ImageReader reader = firstReader(input);
+            if (reader == null) {
+                return;
+            }
+            try {
+                String format = reader.getFormatName().toLowerCase();
+                if (!PROCESSED_FORMATS.contains(format)) {
+                    return;
+                }
+
+                reader.setInput(input, true, false);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                double scale = Math.min((double) kind.maxWidth / width, (double) kind.maxHeight / height);
+                if (scale >= 1.0 || width > MAX_DIMENSION || height > MAX_DIMENSION) {
+                    return;
+                }
+                if (hasOrientationOrColorProfile(reader.getImageMetadata(0))) {
+                    return;
+                }
+                int targetWidth = Math.max(1, (int) Math.round(width * scale));
+                int targetHeight = Math.max(1, (int) Math.round(height * scale));
+
+                // Decode at roughly twice the target size so large images never sit in memory whole
+                ImageReadParam param = reader.getDefaultReadParam();
+                int subsampling = Math.max(1, (int) (1 / scale) / 2);
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                BufferedImage decoded = reader.read(0, param);
+
+                byte[] encoded = encode(resize(decoded, targetWidth, targetHeight), format);
+                if (originalSize > 0 && encoded.length >= originalSize) {
+                    return;
+                }
+
+                try {
+                    s3Client.putObject(b -> b.bucket(bucket).key(key)
+                                    .ifMatch(object.response().eTag())
+                                    .contentType(object.response().contentType()),
+                            RequestBody.fromBytes(encoded));
+                } catch (S3Exception e) {
+                    if (e.statusCode() == 412 || e.statusCode() == 404) {
+                        log.debug("Image {} was replaced or deleted while queued, leaving it", key);
+                        return;
+                    }
+                    throw e;
+                }
+                log.info("Downscaled {} from {}x{} ({} bytes) to {}x{} ({} bytes)",
+                        key, width, height, originalSize, targetWidth, targetHeight, encoded.length);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Scale down in halving steps with bilinear filtering, which stays sharp
+     * without the cost of area averaging.
+     */
+    private static BufferedImage resize(BufferedImage source, int targetWidth, int targetHeight) {
+        boolean alpha = source.getColorModel().hasAlpha();
+        int type = alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+
+            BufferedImage step = new BufferedImage(width, height, type);
+            Graphics2D g = step.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(current, 0, 0, width, height, null);
+            } finally {
+                g.dispose();
+            }
+            current = step;
+        } while (width != targetWidth || height != targetHeight);
+
+        return current;
+    }
+
+    private static byte[] encode(BufferedImage image, String format) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ImageWriter writer = ImageIO.getImageWritersByFormatName(format).next();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(bytes)) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if (format.equals("jpeg")) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(JPEG_QUALITY);
+            }
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Whether the image relies on metadata the re-encode does not write: an ICC profile
+     * (JPEG APP2, PNG iCCP) or an EXIF orientation other than "normal".
+     */
+    private static boolean hasOrientationOrColorProfile(IIOMetadata metadata) {
+        if (metadata == null || metadata.getNativeMetadataFormatName() == null) {
+            return false;
+        }
+        IIOMetadataNode root = (IIOMetadataNode) metadata.getAsTree(metadata.getNativeMetadataFormatName());
+        if (root.getElementsByTagName("iCCP").getLength() > 0
+                || root.getElementsByTagName("app2ICC").getLength() > 0) {
+            return true;
+        }
+
+        // APPn segments the JPEG reader does not interpret are kept as "unknown" markers
+        NodeList markers = root.getElementsByTagName("unknown");
+        for (int i = 0; i < markers.getLength(); i++) {
+            IIOMetadataNode marker = (IIOMetadataNode) markers.item(i);
+            String tag = marker.getAttribute("MarkerTag");
+            if (tag.equals("226")) {
+                return true;
+            }
+            if (tag.equals("225") && marker.getUserObject() instanceof byte[] data && exifOrientation(data) > 1) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Orientation tag of an APP1 Exif segment ("Exif\0\0", a TIFF header, then IFD0),
+     * or 1 if it has none or cannot be read.
+     */
+    private static int exifOrientation(byte[] app1) {
+        if (app1.length < 14 || app1[0] != 'E' || app1[1] != 'x' || app1[2] != 'i' || app1[3] != 'f') {
+            return 1;
+        }
+        ByteBuffer tiff = ByteBuffer.wrap(app1, 6, app1.length - 6).slice();
+        tiff.order(tiff.get(0) == 'I' ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN);
+        try {
+            int ifd = tiff.getInt(4);
+            int entries = tiff.getShort(ifd) & 0xFFFF;
+            for (int i = 0; i < entries; i++) {
+                int entry = ifd + 2 + i * 12;
+                if ((tiff.getShort(entry) & 0xFFFF) == 0x0112) {
+                    return tiff.getShort(entry + 8) & 0xFFFF;
+                }
+            }
+        } catch (IndexOutOfBoundsException e) {
+            // Malformed Exif: treat as unrotated
+        }
+        return 1;
+    }
+
+    private static ImageReader firstReader(ImageInputStream input) {
+        if (input == null) {
+            return null;
+        }
+        Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+        return readers.hasNext() ? readers.next() : null;
+    }
+}
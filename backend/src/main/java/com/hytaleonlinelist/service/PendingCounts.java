@@ -0,0 +1,80 @@
+package com.hytaleonlinelist.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-server counter deltas accumulated in memory until they are written out.
+ *
+ * Increments are striped {@link LongAdder} updates. {@link #drain()} snapshots the
+ * pending deltas; they are only subtracted by {@link #commit(Batch)} once written, so a
+ * failed write keeps them and increments made during the write stay pending.
+ * Callers serialize drain/commit.
+ *
+ * Adders are never removed: an increment may still hold one it looked up, so dropping
+ * an idle adder could lose that increment. There is at most one per server.
+ */
+final class PendingCounts {
+
+    private final Map<UUID, LongAdder> pending = new ConcurrentHashMap<>();
+
+    void increment(UUID serverId) {
+        LongAdder adder = pending.get(serverId);
+        if (adder == null) {
+            adder = pending.computeIfAbsent(serverId, id -> new LongAdder());
+        }
+        adder.increment();
+    }
+
+    /**
+     * Snapshot of all non-zero deltas.
+     */
+    Batch drain() {
+        List<UUID> ids = new ArrayList<>();
+        List<LongAdder> adders = new ArrayList<>();
+        List<Long> deltas = new ArrayList<>();
+
+        pending.forEach((serverId, adder) -> {
+            long delta = adder.sum();
+            if (delta > 0) {
+                ids.add(serverId);
+                adders.add(adder);
+                deltas.add(delta);
+            }
+        });
+
+        return new Batch(ids, adders, deltas);
+    }
+
+    /**
+     * Subtract a written batch; anything recorded since the drain stays pending.
+     */
+    void commit(Batch batch) {
+        for (int i = 0; i < batch.adders().size(); i++) {
+            batch.adders().get(i).add(-batch.deltas().get(i));
+        }
+    }
+
+    record Batch(List<UUID> ids, List<LongAdder> adders, List<Long> deltas) {
+
+        boolean isEmpty() {
+            return ids.isEmpty();
+        }
+
+        UUID[] idArray() {
+            return ids.toArray(new UUID[0]);
+        }
+
+        Long[] deltaArray() {
+            return deltas.toArray(new Long[0]);
+        }
+
+        long total() {
+            return deltas.stream().mapToLong(Long::longValue).sum();
+        }
+    }
+}
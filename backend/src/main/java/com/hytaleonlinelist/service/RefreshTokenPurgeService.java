@@ -0,0 +1,59 @@
+package com.hytaleonlinelist.service;
+
+import com.hytaleonlinelist.domain.repository.RefreshTokenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Keeps the refresh_tokens table bounded by deleting expired tokens and tokens revoked
+ * (rotated or logged out) more than a day ago, in small batches.
+ */
+@Service
+public class RefreshTokenPurgeService {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenPurgeService.class);
+
+    private static final int BATCH_SIZE = 1000;
+    private static final Duration REVOKED_RETENTION = Duration.ofDays(1);
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public RefreshTokenPurgeService(
+            RefreshTokenRepository refreshTokenRepository,
+            TransactionTemplate transactionTemplate) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Purge expired and old revoked refresh tokens every hour at :50
+     */
+    @Scheduled(cron = "0 50 * * * *")
+    public void purge() {
+        try {
+            Instant now = Instant.now();
+            Instant revokedCutoff = now.minus(REVOKED_RETENTION);
+            long total = 0;
+            int deleted;
+            do {
+                Integer batch = transactionTemplate.execute(status ->
+                        refreshTokenRepository.deleteExpiredBatch(now, revokedCutoff, BATCH_SIZE));
+                deleted = batch != null ? batch : 0;
+                total += deleted;
+            } while (deleted == BATCH_SIZE);
+
+            if (total > 0) {
+                log.info("Purged {} expired or revoked refresh tokens", total);
+            }
+        } catch (Exception e) {
+            log.error("Refresh token purge failed: {}", e.getMessage(), e);
+        }
+    }
+}
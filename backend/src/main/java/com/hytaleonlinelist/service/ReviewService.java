@@ -9,17 +9,21 @@ import com.hytaleonlinelist.dto.request.CreateReviewRequest;
 import com.hytaleonlinelist.dto.request.UpdateReviewRequest;
 import com.hytaleonlinelist.dto.response.PaginatedResponse;
 import com.hytaleonlinelist.dto.response.PaginationMeta;
+import com.hytaleonlinelist.dto.response.ReviewFeedResponse;
 import com.hytaleonlinelist.dto.response.ReviewResponse;
 import com.hytaleonlinelist.exception.ResourceNotFoundException;
 import com.hytaleonlinelist.mapper.ReviewMapper;
-import org.springframework.data.domain.Page;
+import com.hytaleonlinelist.service.cache.ReviewFirstPageCache;
+import com.hytaleonlinelist.service.cache.ServerCacheVersions;
+import com.hytaleonlinelist.util.KeysetCursor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -28,36 +32,73 @@ import java.util.UUID;
 @Transactional(readOnly = true)
 public class ReviewService {
 
+    private static final Logger log = LoggerFactory.getLogger(ReviewService.class);
+
     private final ReviewRepository reviewRepository;
     private final ServerRepository serverRepository;
     private final ReviewMapper reviewMapper;
+    private final ServerCacheVersions cacheVersions;
+    private final ReviewFirstPageCache reviewFirstPageCache;
 
     public ReviewService(ReviewRepository reviewRepository,
                         ServerRepository serverRepository,
-                        ReviewMapper reviewMapper) {
+                        ReviewMapper reviewMapper,
+                        ServerCacheVersions cacheVersions,
+                        ReviewFirstPageCache reviewFirstPageCache) {
         this.reviewRepository = reviewRepository;
         this.serverRepository = serverRepository;
         this.reviewMapper = reviewMapper;
+        this.cacheVersions = cacheVersions;
+        this.reviewFirstPageCache = reviewFirstPageCache;
     }
 
     public PaginatedResponse<ReviewResponse> getReviewsForServer(UUID serverId, int page, int limit, UUID currentUserId) {
-        PageRequest pageable = PageRequest.of(page - 1, limit, Sort.by(Sort.Direction.DESC, "createdAt"));
-        Page<ReviewEntity> reviewPage = reviewRepository.findByServerIdWithUser(serverId, pageable);
-
-        List<ReviewResponse> reviews = reviewPage.getContent().stream()
-                .map(entity -> reviewMapper.toResponse(entity, currentUserId))
-                .toList();
+        List<ReviewResponse> reviews;
+        if (page == 1 && limit < ReviewFirstPageCache.MAX_CACHED_REVIEWS) {
+            reviews = newestReviews(serverId, limit, currentUserId);
+        } else {
+            PageRequest pageable = PageRequest.of(page - 1, limit);
+            reviews = reviewRepository.findPageByServerIdWithUser(serverId, pageable).stream()
+                    .map(entity -> reviewMapper.toResponse(entity, currentUserId))
+                    .toList();
+        }
 
+        long total = reviewTotal(serverId);
         PaginationMeta meta = new PaginationMeta(
                 page,
                 limit,
-                reviewPage.getTotalElements(),
-                reviewPage.getTotalPages()
+                total,
+                (int) Math.ceil((double) total / limit)
         );
 
         return new PaginatedResponse<>(reviews, meta);
     }
 
+    /**
+     * Reviews newest first, continuing after the given cursor (or from the start when null).
+     * Seeks on (created_at, id), so deep pages cost the same as the first one.
+     */
+    public ReviewFeedResponse getReviewFeed(UUID serverId, String cursor, int limit, UUID currentUserId) {
+        List<ReviewResponse> reviews;
+        if (cursor == null || cursor.isBlank()) {
+            // One extra row tells whether there is a next page
+            reviews = limit < ReviewFirstPageCache.MAX_CACHED_REVIEWS
+                    ? newestReviews(serverId, limit + 1, currentUserId)
+                    : loadReviews(serverId, null, limit + 1, currentUserId);
+        } else {
+            reviews = loadReviews(serverId, KeysetCursor.decode(cursor), limit + 1, currentUserId);
+        }
+
+        String nextCursor = null;
+        if (reviews.size() > limit) {
+            reviews = reviews.subList(0, limit);
+            ReviewResponse last = reviews.get(limit - 1);
+            nextCursor = new KeysetCursor(Instant.parse(last.createdAt()), UUID.fromString(last.id())).encode();
+        }
+
+        return new ReviewFeedResponse(reviews, nextCursor, reviewTotal(serverId));
+    }
+
     public Optional<ReviewResponse> getUserReviewForServer(UUID serverId, UUID userId) {
         return reviewRepository.findByServerIdAndUserId(serverId, userId)
                 .map(entity -> reviewMapper.toResponse(entity, userId));
@@ -87,7 +128,7 @@ public class ReviewService {
         ReviewEntity saved = reviewRepository.save(review);
 
         // Update server rating statistics
-        recalculateServerRating(serverId);
+        applyRatingDelta(serverId, 1, request.rating());
 
         return reviewMapper.toResponse(saved, user.getId());
     }
@@ -102,13 +143,16 @@ public class ReviewService {
             throw new IllegalStateException("You can only edit your own reviews");
         }
 
+        int previousRating = review.getRating();
         review.setRating(request.rating());
         review.setContent(request.content());
 
         ReviewEntity saved = reviewRepository.save(review);
 
-        // Update server rating statistics
-        recalculateServerRating(review.getServer().getId());
+        // Update server rating statistics (count unchanged, sum moves by the rating change)
+        if (request.rating() != previousRating) {
+            applyRatingDelta(review.getServer().getId(), 0, request.rating() - previousRating);
+        }
 
         return reviewMapper.toResponse(saved, userId);
     }
@@ -124,10 +168,11 @@ public class ReviewService {
         }
 
         UUID serverId = review.getServer().getId();
+        int rating = review.getRating();
         reviewRepository.delete(review);
 
         // Update server rating statistics
-        recalculateServerRating(serverId);
+        applyRatingDelta(serverId, -1, -rating);
     }
 
     @Transactional
@@ -136,10 +181,11 @@ public class ReviewService {
                 .orElseThrow(() -> new ResourceNotFoundException("Review not found"));
 
         UUID serverId = review.getServer().getId();
+        int rating = review.getRating();
         reviewRepository.delete(review);
 
         // Update server rating statistics
-        recalculateServerRating(serverId);
+        applyRatingDelta(serverId, -1, -rating);
     }
 
     public ReviewEntity getReviewById(UUID reviewId) {
@@ -147,24 +193,70 @@ public class ReviewService {
                 .orElseThrow(() -> new ResourceNotFoundException("Review not found"));
     }
 
+    /**
+     * Correct rating aggregates that drifted from the reviews table, hourly at :30.
+     */
+    @Scheduled(cron = "0 30 * * * *")
     @Transactional
-    public void recalculateServerRating(UUID serverId) {
-        ServerEntity server = serverRepository.findById(serverId)
-                .orElseThrow(() -> new ResourceNotFoundException("Server not found"));
+    public void reconcileServerRatings() {
+        int corrected = serverRepository.reconcileReviewAggregates();
+        if (corrected > 0) {
+            log.warn("Corrected drifted rating aggregates on {} servers", corrected);
+            cacheVersions.bumpAll();
+        }
+    }
 
-        long count = reviewRepository.countByServerId(serverId);
-        Double avgRating = reviewRepository.getAverageRatingByServerId(serverId);
+    /**
+     * The newest reviews of a server from the first-page cache, with isOwner set for the viewer.
+     */
+    private List<ReviewResponse> newestReviews(UUID serverId, int limit, UUID currentUserId) {
+        List<ReviewResponse> cached = reviewFirstPageCache.get(serverId,
+                id -> loadReviews(id, null, ReviewFirstPageCache.MAX_CACHED_REVIEWS, null));
+        String viewerId = currentUserId != null ? currentUserId.toString() : null;
+        return cached.stream()
+                .limit(limit)
+                .map(review -> viewerId != null && viewerId.equals(review.user().id())
+                        ? withOwner(review)
+                        : review)
+                .toList();
+    }
 
-        server.setReviewCount((int) count);
+    private List<ReviewResponse> loadReviews(UUID serverId, KeysetCursor after, int limit, UUID currentUserId) {
+        PageRequest pageable = PageRequest.of(0, limit);
+        List<ReviewEntity> entities = after == null
+                ? reviewRepository.findPageByServerIdWithUser(serverId, pageable)
+                : reviewRepository.findPageByServerIdWithUserAfter(serverId, after.createdAt(), after.id(), pageable);
+        return entities.stream()
+                .map(entity -> reviewMapper.toResponse(entity, currentUserId))
+                .toList();
+    }
 
-        if (avgRating != null) {
-            // Round to 1 decimal place
-            BigDecimal rounded = BigDecimal.valueOf(avgRating).setScale(1, RoundingMode.HALF_UP);
-            server.setAverageRating(rounded);
-        } else {
-            server.setAverageRating(null);
-        }
+    /**
+     * Total reviews from the server's maintained counter rather than a COUNT(*) per page.
+     */
+    private long reviewTotal(UUID serverId) {
+        return serverRepository.findReviewCountById(serverId).orElse(0);
+    }
+
+    private static ReviewResponse withOwner(ReviewResponse review) {
+        return new ReviewResponse(
+                review.id(),
+                review.serverId(),
+                review.user(),
+                review.rating(),
+                review.content(),
+                review.createdAt(),
+                review.updatedAt(),
+                true
+        );
+    }
 
-        serverRepository.save(server);
+    /**
+     * Apply a review change to the server's count and rating sum with one atomic UPDATE,
+     * instead of re-aggregating all of the server's reviews.
+     */
+    private void applyRatingDelta(UUID serverId, int countDelta, long sumDelta) {
+        serverRepository.applyReviewDelta(serverId, countDelta, sumDelta);
+        cacheVersions.bumpServer(serverId);
     }
 }
@@ -11,6 +11,7 @@ import com.hytaleonlinelist.dto.response.ClaimStatusResponse;
 import com.hytaleonlinelist.dto.response.VerificationResultResponse;
 import com.hytaleonlinelist.exception.ResourceNotFoundException;
 import com.hytaleonlinelist.exception.BadRequestException;
+import com.hytaleonlinelist.service.cache.ServerCacheVersions;
 import com.hytaleonlinelist.service.verification.ServerVerifier;
 import com.hytaleonlinelist.service.verification.ServerVerifier.VerificationResult;
 import com.hytaleonlinelist.util.RequestUtils;
@@ -46,6 +47,8 @@ public class ServerClaimService {
     private final ServerClaimInitiationRepository claimInitiationRepository;
     private final UserRepository userRepository;
     private final Map<VerificationMethod, ServerVerifier> verifiers;
+    private final ServerCacheVersions cacheVersions;
+    private final ClaimExpiryTimers claimExpiryTimers;
     private final SecureRandom secureRandom;
 
     public ServerClaimService(
@@ -53,11 +56,15 @@ public class ServerClaimService {
             ServerClaimAttemptRepository claimAttemptRepository,
             ServerClaimInitiationRepository claimInitiationRepository,
             UserRepository userRepository,
-            List<ServerVerifier> verifierList) {
+            List<ServerVerifier> verifierList,
+            ServerCacheVersions cacheVersions,
+            ClaimExpiryTimers claimExpiryTimers) {
         this.serverRepository = serverRepository;
         this.claimAttemptRepository = claimAttemptRepository;
         this.claimInitiationRepository = claimInitiationRepository;
         this.userRepository = userRepository;
+        this.cacheVersions = cacheVersions;
+        this.claimExpiryTimers = claimExpiryTimers;
         this.secureRandom = new SecureRandom();
 
         // Map verifiers by their method
@@ -157,6 +164,7 @@ public class ServerClaimService {
         }
 
         claimInitiationRepository.save(initiation);
+        claimExpiryTimers.schedule(initiation.getId(), initiation.getExpiresAt());
 
         // Get instructions for the verification method
         String instructions = verifier.getInstructions(server, token);
@@ -181,23 +189,19 @@ public class ServerClaimService {
     }
 
     /**
-     * Attempt to verify a server claim using the specified method.
-     * Any user with an active claim initiation can attempt verification.
-     * First to successfully verify wins.
+     * Validate a verification request, record the attempt on the user's initiation and
+     * write a pending attempt row, whose id identifies the verification job.
+     * Runs in a short transaction; the verifier itself is run afterwards by
+     * {@link #runVerification}, outside any transaction.
      */
     @Transactional
-    public VerificationResultResponse attemptVerification(UUID serverId, UUID userId, VerificationMethod method) {
+    public VerificationTicket prepareVerification(UUID serverId, UUID userId, VerificationMethod method) {
         ServerEntity server = serverRepository.findById(serverId)
                 .orElseThrow(() -> new ResourceNotFoundException("Server not found with id: " + serverId));
 
         // Check if already verified
         if (server.getVerifiedAt() != null) {
-            return new VerificationResultResponse(
-                    server.getId().toString(),
-                    true,
-                    server.getVerificationMethod(),
-                    "This server is already verified."
-            );
+            return new VerificationTicket(null, server, null, server.getVerificationMethod(), null, true);
         }
 
         // Check if there's a valid claim token on the server
@@ -221,11 +225,12 @@ public class ServerClaimService {
         if (initiation.isExpired()) {
             initiation.markExpired();
             claimInitiationRepository.save(initiation);
+            claimExpiryTimers.cancel(initiation.getId());
             throw new BadRequestException("Your claim has expired. Please initiate a new claim.");
         }
 
-        // Check rate limiting
-        checkRateLimit(serverId, userId);
+        // Durable limit; the in-memory buckets on the endpoint only shed bursts per node
+        checkRateLimit(userId);
 
         // Get the verifier
         ServerVerifier verifier = verifiers.get(method);
@@ -244,61 +249,93 @@ public class ServerClaimService {
                     (reason != null ? reason : ""));
         }
 
-        // Record the attempt in both tables
         initiation.recordAttempt();
+        claimInitiationRepository.save(initiation);
 
         ServerClaimAttemptEntity attempt = new ServerClaimAttemptEntity();
         attempt.setServer(server);
         attempt.setUser(user);
         attempt.setVerificationMethod(method);
         attempt.setIpAddress(RequestUtils.getClientIpFromContext());
+        claimAttemptRepository.save(attempt);
 
-        // Perform verification
-        VerificationResult result = verifier.verifyWithUser(server, server.getClaimToken(), user);
+        return new VerificationTicket(attempt.getId(), server, user, method, server.getClaimToken(), false);
+    }
 
-        attempt.setIsSuccessful(result.success());
-        attempt.setFailureReason(result.success() ? null : result.message());
-        claimAttemptRepository.save(attempt);
+    /**
+     * Run the verifier for a prepared attempt. Does network I/O (DNS, HTTP, server query)
+     * and must not be called inside a transaction. The ticket's entities are detached
+     * and only their plain fields are read.
+     */
+    public VerificationResult runVerification(VerificationTicket ticket) {
+        return verifiers.get(ticket.method()).verifyWithUser(ticket.server(), ticket.token(), ticket.user());
+    }
 
-        if (result.success()) {
+    /**
+     * Record the outcome of a verification attempt and, on success, hand the server to the
+     * user. Ownership is taken with one conditional UPDATE, so of several claimers verifying
+     * at once exactly one wins.
+     */
+    @Transactional
+    public VerificationResultResponse completeVerification(VerificationTicket ticket, VerificationResult result) {
+        UUID serverId = ticket.server().getId();
+        UUID userId = ticket.user().getId();
+        VerificationMethod method = ticket.method();
+        Instant now = Instant.now();
+
+        boolean won = result.success() &&
+                serverRepository.claimOwnership(serverId, userId, method.name(), now, ticket.token()) > 0;
+        String message = result.success() && !won
+                ? "This server was verified by another user first."
+                : result.message();
+
+        claimAttemptRepository.findById(ticket.attemptId()).ifPresent(attempt -> {
+            attempt.setIsSuccessful(won);
+            attempt.setFailureReason(won ? null : message);
+            attempt.setCompletedAt(now);
+            claimAttemptRepository.save(attempt);
+        });
+
+        if (won) {
             // Mark this initiation as verified
-            initiation.markVerified();
-            claimInitiationRepository.save(initiation);
+            claimInitiationRepository.findByServerIdAndUserId(serverId, userId).ifPresent(initiation -> {
+                initiation.markVerified();
+                claimInitiationRepository.save(initiation);
+                claimExpiryTimers.cancel(initiation.getId());
+            });
 
             // Mark all other pending initiations for this server as CLAIMED_BY_OTHER
-            claimInitiationRepository.markOtherClaimsAsClaimedByOther(
-                    serverId, userId, Instant.now());
-
-            // Set the server owner
-            server.setOwner(user);
-            server.setVerificationMethod(method);
-            server.setVerifiedAt(Instant.now());
-            server.setClaimToken(null);
-            server.setClaimTokenExpiry(null);
-            serverRepository.save(server);
+            claimInitiationRepository.markOtherClaimsAsClaimedByOther(serverId, userId, now);
+            cacheVersions.bumpServer(serverId);
 
             logger.info("Server {} successfully verified by user {} using method {}",
                     serverId, userId, method);
-
-            return new VerificationResultResponse(
-                    server.getId().toString(),
-                    true,
-                    method,
-                    result.message()
-            );
         } else {
-            claimInitiationRepository.save(initiation);
-
             logger.info("Verification attempt failed for server {} by user {}: {}",
-                    serverId, userId, result.message());
-
-            return new VerificationResultResponse(
-                    server.getId().toString(),
-                    false,
-                    method,
-                    result.message()
-            );
+                    serverId, userId, message);
         }
+
+        return new VerificationResultResponse(serverId.toString(), won, method, message);
+    }
+
+    /**
+     * Record that a verification attempt ended without an outcome (the verifier threw).
+     */
+    @Transactional
+    public void failVerification(UUID attemptId, String message) {
+        claimAttemptRepository.findById(attemptId).ifPresent(attempt -> {
+            attempt.setFailureReason(message);
+            attempt.setCompletedAt(Instant.now());
+            claimAttemptRepository.save(attempt);
+        });
+    }
+
+    /**
+     * A user's verification attempt on a server, pending or completed.
+     */
+    @Transactional(readOnly = true)
+    public Optional<ServerClaimAttemptEntity> getVerificationAttempt(UUID serverId, UUID attemptId, UUID userId) {
+        return claimAttemptRepository.findByIdAndServerIdAndUserId(attemptId, serverId, userId);
     }
 
     /**
@@ -432,6 +469,7 @@ public class ServerClaimService {
 
         initiation.markCancelled();
         claimInitiationRepository.save(initiation);
+        claimExpiryTimers.cancel(initiation.getId());
 
         logger.info("Claim cancelled for server {} by user {}", serverId, userId);
     }
@@ -472,7 +510,11 @@ public class ServerClaimService {
         return token.toString();
     }
 
-    private void checkRateLimit(UUID serverId, UUID userId) {
+    /**
+     * Enforces the attempt limits from the recorded attempts, so they hold across restarts
+     * and instances. Attempts still running are recorded up front and count too.
+     */
+    private void checkRateLimit(UUID userId) {
         Instant oneHourAgo = Instant.now().minus(1, ChronoUnit.HOURS);
         Instant oneDayAgo = Instant.now().minus(24, ChronoUnit.HOURS);
 
@@ -509,6 +551,20 @@ public class ServerClaimService {
         };
     }
 
+    /**
+     * A validated verification attempt, carried from {@link #prepareVerification} to the verifier.
+     * When {@code alreadyVerified} is set the server needs no verification and the other fields
+     * besides server and method are null.
+     */
+    public record VerificationTicket(
+            UUID attemptId,
+            ServerEntity server,
+            UserEntity user,
+            VerificationMethod method,
+            String token,
+            boolean alreadyVerified
+    ) {}
+
     /**
      * Information about a verification method.
      */
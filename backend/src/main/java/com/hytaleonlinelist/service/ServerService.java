@@ -13,6 +13,9 @@ import com.hytaleonlinelist.dto.response.PaginationMeta;
 import com.hytaleonlinelist.dto.response.ServerResponse;
 import com.hytaleonlinelist.exception.ResourceNotFoundException;
 import com.hytaleonlinelist.mapper.ServerMapper;
+import com.hytaleonlinelist.service.cache.ServerCacheVersions;
+import com.hytaleonlinelist.service.ranking.ServerRankingService;
+import com.hytaleonlinelist.service.ranking.ServerSort;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -22,7 +25,12 @@ import org.springframework.transaction.annotation.Transactional;
 import java.text.Normalizer;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import java.util.regex.Pattern;
 
 @Service
@@ -32,13 +40,19 @@ public class ServerService {
     private final ServerRepository serverRepository;
     private final CategoryRepository categoryRepository;
     private final ServerMapper serverMapper;
+    private final ServerCacheVersions cacheVersions;
+    private final ServerRankingService rankingService;
 
     public ServerService(ServerRepository serverRepository,
                         CategoryRepository categoryRepository,
-                        ServerMapper serverMapper) {
+                        ServerMapper serverMapper,
+                        ServerCacheVersions cacheVersions,
+                        ServerRankingService rankingService) {
         this.serverRepository = serverRepository;
         this.categoryRepository = categoryRepository;
         this.serverMapper = serverMapper;
+        this.cacheVersions = cacheVersions;
+        this.rankingService = rankingService;
     }
 
     public PaginatedResponse<ServerResponse> getServers(
@@ -51,13 +65,22 @@ public class ServerService {
 
         // Use unsorted pageable since native query handles sorting
         Pageable pageable = PageRequest.of(page - 1, limit);
-        String sortBy = getSortField(sort);
+        ServerSort serverSort = ServerSort.from(sort);
+
+        // Unfiltered-by-search listings are sliced from the precomputed rankings
+        if (search == null || search.isBlank()) {
+            Optional<ServerRankingService.RankingSlice> slice =
+                    rankingService.slice(serverSort, category, online, pageable.getOffset(), limit);
+            if (slice.isPresent()) {
+                return toPage(slice.get(), page, limit);
+            }
+        }
 
         Page<ServerEntity> serverPage = serverRepository.findWithFilters(
                 category != null && !category.isBlank() ? category : null,
                 online,
                 search != null && !search.isBlank() ? search : null,
-                sortBy,
+                serverSort.sqlField(),
                 pageable
         );
 
@@ -82,18 +105,6 @@ public class ServerService {
         return serverMapper.toResponse(server);
     }
 
-    @Transactional
-    public ServerResponse getServerBySlugAndIncrementViews(String slug) {
-        ServerEntity server = serverRepository.findBySlug(slug)
-                .orElseThrow(() -> new ResourceNotFoundException("Server not found with slug: " + slug));
-
-        // Increment view count
-        server.setViewCount(server.getViewCount() + 1);
-        serverRepository.save(server);
-
-        return serverMapper.toResponse(server);
-    }
-
     public List<ServerResponse> getFeaturedServers() {
         return serverRepository.findByIsFeaturedTrue().stream()
                 .map(serverMapper::toResponse)
@@ -136,15 +147,9 @@ public class ServerService {
             saved = serverRepository.save(saved);
         }
 
-        return serverMapper.toResponse(saved);
-    }
+        cacheVersions.bumpServer(saved.getId());
 
-    @Transactional
-    public void incrementVoteCount(UUID serverId) {
-        serverRepository.findById(serverId).ifPresent(server -> {
-            server.setVoteCount(server.getVoteCount() + 1);
-            serverRepository.save(server);
-        });
+        return serverMapper.toResponse(saved);
     }
 
     public List<ServerResponse> getServersByOwner(UUID ownerId) {
@@ -213,6 +218,7 @@ public class ServerService {
         }
 
         ServerEntity saved = serverRepository.save(server);
+        cacheVersions.bumpServer(serverId);
         return serverMapper.toResponse(saved);
     }
 
@@ -227,15 +233,33 @@ public class ServerService {
         }
 
         serverRepository.delete(server);
+        cacheVersions.bumpServer(serverId);
     }
 
-    private String getSortField(String sort) {
-        return switch (sort != null ? sort.toLowerCase() : "votes") {
-            case "players" -> "playerCount";
-            case "newest" -> "createdAt";
-            case "name" -> "name";
-            default -> "voteCount";
-        };
+    /**
+     * Hydrate a ranking slice with one batched query, keeping the ranking order.
+     * Servers deleted since the snapshot was built are skipped.
+     */
+    private PaginatedResponse<ServerResponse> toPage(ServerRankingService.RankingSlice slice, int page, int limit) {
+        Map<UUID, ServerEntity> byId = slice.ids().isEmpty()
+                ? Map.of()
+                : serverRepository.findAllByIdWithDetails(slice.ids()).stream()
+                        .collect(Collectors.toMap(ServerEntity::getId, Function.identity()));
+
+        List<ServerResponse> servers = slice.ids().stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .map(serverMapper::toResponse)
+                .toList();
+
+        PaginationMeta meta = new PaginationMeta(
+                page,
+                limit,
+                slice.total(),
+                (int) Math.ceil((double) slice.total() / limit)
+        );
+
+        return new PaginatedResponse<>(servers, meta);
     }
 
     private String generateSlug(String name) {
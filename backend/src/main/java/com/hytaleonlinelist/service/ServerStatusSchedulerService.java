@@ -6,8 +6,11 @@ import com.hytaleonlinelist.domain.entity.ServerStatusHistoryEntity;
 import com.hytaleonlinelist.domain.repository.ServerRepository;
 import com.hytaleonlinelist.domain.repository.ServerStatusHistoryRepository;
 import com.hytaleonlinelist.health.ScheduledTasksHealthIndicator;
+import com.hytaleonlinelist.service.cache.ServerCacheVersions;
 import com.hytaleonlinelist.service.query.QueryResult;
+import com.hytaleonlinelist.service.ranking.TrendingScores;
 import com.hytaleonlinelist.service.query.ServerQueryService;
+import com.hytaleonlinelist.service.query.ServerQuerySnapshots;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.PageRequest;
@@ -37,19 +40,28 @@ public class ServerStatusSchedulerService {
     private final ServerRepository serverRepository;
     private final ServerStatusHistoryRepository historyRepository;
     private final ServerQueryService queryService;
+    private final ServerQuerySnapshots querySnapshots;
     private final ScheduledTasksHealthIndicator healthIndicator;
+    private final ServerCacheVersions cacheVersions;
+    private final TrendingScores trendingScores;
     private final ExecutorService executorService;
 
     public ServerStatusSchedulerService(
         ServerRepository serverRepository,
         ServerStatusHistoryRepository historyRepository,
         ServerQueryService queryService,
-        ScheduledTasksHealthIndicator healthIndicator
+        ServerQuerySnapshots querySnapshots,
+        ScheduledTasksHealthIndicator healthIndicator,
+        ServerCacheVersions cacheVersions,
+        TrendingScores trendingScores
     ) {
         this.serverRepository = serverRepository;
         this.historyRepository = historyRepository;
         this.queryService = queryService;
+        this.querySnapshots = querySnapshots;
         this.healthIndicator = healthIndicator;
+        this.cacheVersions = cacheVersions;
+        this.trendingScores = trendingScores;
         this.executorService = Executors.newFixedThreadPool(THREAD_POOL_SIZE);
     }
 
@@ -101,10 +113,12 @@ public class ServerStatusSchedulerService {
     }
 
     /**
-     * Query a single server and return the result with the server
+     * Query a single server and return the result with the server.
+     * The MOTD is kept for claim verification (see {@link ServerQuerySnapshots}).
      */
     private ServerQueryResult queryServer(ServerEntity server) {
         QueryResult result = queryService.queryServer(server);
+        querySnapshots.record(server.getId(), result);
         return new ServerQueryResult(server, result);
     }
 
@@ -134,6 +148,9 @@ public class ServerStatusSchedulerService {
                 // Always update player counts from result
                 // HyQuery/Nitrado provide actual data, QUIC/BasicPing return null
                 // null = show "N/A" on UI (we don't know the player count)
+                if (server.getPlayerCount() != null && result.playerCount() != null) {
+                    trendingScores.recordPlayerChange(server.getId(), result.playerCount() - server.getPlayerCount());
+                }
                 server.setPlayerCount(result.playerCount());
                 server.setMaxPlayers(result.maxPlayers());
                 server.setPreferredQueryProtocol(result.protocol());
@@ -167,6 +184,9 @@ public class ServerStatusSchedulerService {
         historyRepository.saveAll(historyToSave);
         historyRepository.flush();
 
+        // One version step for the whole batch keeps listing cache churn to once per poll
+        cacheVersions.bumpServers(serversToSave.stream().map(ServerEntity::getId).toList());
+
         log.info("Batch saved: {} online, {} offline, {} history records",
             onlineCount, offlineCount, historyToSave.size());
     }
@@ -216,6 +236,7 @@ public class ServerStatusSchedulerService {
         // Batch save all updated servers
         if (!updatedServers.isEmpty()) {
             serverRepository.saveAll(updatedServers);
+            cacheVersions.bumpServers(updatedServers.stream().map(ServerEntity::getId).toList());
         }
 
         log.info("Completed uptime percentage update for {} servers", updatedServers.size());
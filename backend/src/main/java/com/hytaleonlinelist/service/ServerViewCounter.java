@@ -0,0 +1,86 @@
+package com.hytaleonlinelist.service;
+
+import com.hytaleonlinelist.domain.repository.ServerRepository;
+import com.hytaleonlinelist.service.ranking.TrendingScores;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+
+/**
+ * Buffers server page views in memory and writes them out periodically.
+ *
+ * Recording a view is a striped counter increment with no database access,
+ * so the detail endpoint stays read-only. A scheduled flush applies all pending deltas
+ * with one set-based UPDATE, and the buffer is flushed once more on shutdown.
+ *
+ * View counts are not part of the cache versioning; cached details may lag slightly.
+ */
+@Service
+public class ServerViewCounter {
+
+    private static final Logger log = LoggerFactory.getLogger(ServerViewCounter.class);
+
+    private final ServerRepository serverRepository;
+    private final TrendingScores trendingScores;
+    private final TransactionTemplate transactionTemplate;
+    private final PendingCounts pending = new PendingCounts();
+
+    public ServerViewCounter(
+            ServerRepository serverRepository,
+            TrendingScores trendingScores,
+            TransactionTemplate transactionTemplate) {
+        this.serverRepository = serverRepository;
+        this.trendingScores = trendingScores;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Record one view of a server.
+     */
+    public void recordView(UUID serverId) {
+        pending.increment(serverId);
+        trendingScores.recordView(serverId);
+    }
+
+    /**
+     * Write pending views to the database.
+     */
+    @Scheduled(fixedDelayString = "${views.flush-interval-ms:10000}")
+    public void flush() {
+        try {
+            flushPending();
+        } catch (Exception e) {
+            // Deltas stay buffered and are retried on the next flush
+            log.error("Failed to flush view counts: {}", e.getMessage(), e);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        try {
+            int servers = flushPending();
+            log.info("Flushed view counts for {} servers on shutdown", servers);
+        } catch (Exception e) {
+            log.error("Failed to flush view counts on shutdown: {}", e.getMessage(), e);
+        }
+    }
+
+    private synchronized int flushPending() {
+        PendingCounts.Batch batch = pending.drain();
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        transactionTemplate.executeWithoutResult(status ->
+                serverRepository.addViewCounts(batch.idArray(), batch.deltaArray()));
+        pending.commit(batch);
+
+        log.debug("Flushed {} views across {} servers", batch.total(), batch.ids().size());
+        return batch.ids().size();
+    }
+}
@@ -0,0 +1,203 @@
+package com.hytaleonlinelist.service;
+
+import com.hytaleonlinelist.domain.entity.VotePeriod;
+import com.hytaleonlinelist.domain.repository.ServerPeriodVoteRepository;
+import com.hytaleonlinelist.domain.repository.ServerRepository;
+import com.hytaleonlinelist.domain.repository.VoteDailyCountRepository;
+import com.hytaleonlinelist.service.cache.ServerCacheVersions;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Maintains {@code servers.vote_count}, the daily rollups in {@code vote_daily_counts}
+ * and the weekly/monthly counters in {@code server_period_votes} from buffered deltas.
+ *
+ * The vote row itself is the source of truth and is written synchronously; the counters
+ * are only incremented once that insert commits. Pending deltas are applied with one
+ * set-based statement per counter and flush, so a vote rush on a popular server never
+ * queues on its row lock. Deltas are kept per vote date so votes around midnight land
+ * in the right period. Cache versions are bumped for the servers that were flushed.
+ *
+ * Deltas still buffered when the process dies without a shutdown flush are lost, so a
+ * nightly job rebuilds the counters of recent days from the committed vote rows.
+ */
+@Service
+public class ServerVoteCounter {
+
+    private static final Logger log = LoggerFactory.getLogger(ServerVoteCounter.class);
+
+    /** Past days whose counters are rebuilt from the vote rows each night. */
+    private static final int RECONCILE_DAYS = 7;
+
+    private final ServerRepository serverRepository;
+    private final ServerPeriodVoteRepository periodVoteRepository;
+    private final VoteDailyCountRepository dailyCountRepository;
+    private final ServerCacheVersions cacheVersions;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<LocalDate, PendingCounts> pendingByDate = new ConcurrentHashMap<>();
+    private final ReadWriteLock retireLock = new ReentrantReadWriteLock();
+
+    public ServerVoteCounter(
+            ServerRepository serverRepository,
+            ServerPeriodVoteRepository periodVoteRepository,
+            VoteDailyCountRepository dailyCountRepository,
+            ServerCacheVersions cacheVersions,
+            TransactionTemplate transactionTemplate) {
+        this.serverRepository = serverRepository;
+        this.periodVoteRepository = periodVoteRepository;
+        this.dailyCountRepository = dailyCountRepository;
+        this.cacheVersions = cacheVersions;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Count a vote once the current transaction (if any) commits.
+     */
+    public void recordVote(UUID serverId, LocalDate voteDate) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    increment(serverId, voteDate);
+                }
+            });
+        } else {
+            increment(serverId, voteDate);
+        }
+    }
+
+    /**
+     * Write pending vote deltas to the database.
+     */
+    @Scheduled(fixedDelayString = "${votes.flush-interval-ms:5000}")
+    public void flush() {
+        try {
+            flushPending();
+        } catch (Exception e) {
+            // Deltas stay buffered and are retried on the next flush
+            log.error("Failed to flush vote counts: {}", e.getMessage(), e);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        try {
+            int servers = flushPending();
+            log.info("Flushed vote counts for {} servers on shutdown", servers);
+        } catch (Exception e) {
+            log.error("Failed to flush vote counts on shutdown: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Drop leaderboard counters of periods that ended more than a year ago.
+     */
+    @Scheduled(cron = "0 15 3 * * *")
+    public void purgeOldPeriods() {
+        LocalDate cutoff = LocalDate.now().minusYears(1);
+        Integer deleted = transactionTemplate.execute(status -> periodVoteRepository.deleteStartedBefore(cutoff));
+        log.info("Purged {} leaderboard counters from before {}", deleted, cutoff);
+    }
+
+    /**
+     * Repair counters that fell behind the vote rows, daily at 03:45: the daily rollups
+     * of the past {@value #RECONCILE_DAYS} days are raised to the committed votes, then
+     * the leaderboard counters of the periods they fall in and {@code servers.vote_count}
+     * to the rollups. A count above the rollups is an imported baseline.
+     *
+     * Runs under the flush lock after a flush, so no past-day delta is still buffered
+     * and counted twice. Today is left to the next run.
+     */
+    @Scheduled(cron = "0 45 3 * * *")
+    public synchronized void reconcileVoteCounts() {
+        flushPending();
+
+        LocalDate today = LocalDate.now();
+        LocalDate from = today.minusDays(RECONCILE_DAYS);
+        Integer corrected = transactionTemplate.execute(status -> {
+            int rows = dailyCountRepository.reconcileFromVotes(from, today);
+            for (VotePeriod period : VotePeriod.values()) {
+                for (LocalDate start = period.start(from); !start.isAfter(today); start = period.end(start)) {
+                    rows += periodVoteRepository.reconcileFromDailyCounts(period.name(), start, period.end(start));
+                }
+            }
+            return rows + serverRepository.reconcileVoteCounts();
+        });
+        if (corrected != null && corrected > 0) {
+            log.warn("Corrected {} vote counters that fell behind the vote rows", corrected);
+            cacheVersions.bumpAll();
+        }
+    }
+
+    private void increment(UUID serverId, LocalDate voteDate) {
+        // Shared: a flush may only drop a past day's buffer while no increment holds it
+        retireLock.readLock().lock();
+        try {
+            pendingByDate.computeIfAbsent(voteDate, date -> new PendingCounts()).increment(serverId);
+        } finally {
+            retireLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Drop a past day's buffer once it is idle. Rechecked under the exclusive lock, so
+     * no increment can land on it after it was found empty.
+     */
+    private void retireIfIdle(LocalDate voteDate, PendingCounts pending) {
+        retireLock.writeLock().lock();
+        try {
+            if (pending.drain().isEmpty()) {
+                pendingByDate.remove(voteDate, pending);
+            }
+        } finally {
+            retireLock.writeLock().unlock();
+        }
+    }
+
+    private synchronized int flushPending() {
+        int servers = 0;
+        LocalDate today = LocalDate.now();
+
+        for (Map.Entry<LocalDate, PendingCounts> entry : pendingByDate.entrySet()) {
+            LocalDate voteDate = entry.getKey();
+            PendingCounts pending = entry.getValue();
+
+            PendingCounts.Batch batch = pending.drain();
+            if (batch.isEmpty()) {
+                if (voteDate.isBefore(today)) {
+                    retireIfIdle(voteDate, pending);
+                }
+                continue;
+            }
+
+            UUID[] ids = batch.idArray();
+            Long[] deltas = batch.deltaArray();
+            transactionTemplate.executeWithoutResult(status -> {
+                serverRepository.addVoteCounts(ids, deltas);
+                dailyCountRepository.addVotes(voteDate, ids, deltas);
+                for (VotePeriod period : VotePeriod.values()) {
+                    periodVoteRepository.addVotes(period.name(), period.start(voteDate), ids, deltas);
+                }
+                cacheVersions.bumpServers(batch.ids());
+            });
+            pending.commit(batch);
+
+            log.debug("Flushed {} votes from {} across {} servers", batch.total(), voteDate, ids.length);
+            servers += ids.length;
+        }
+        return servers;
+    }
+}
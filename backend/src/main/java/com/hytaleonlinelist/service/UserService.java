@@ -9,11 +9,15 @@ import com.hytaleonlinelist.dto.response.ProfileResponse;
 import com.hytaleonlinelist.dto.response.UserVoteResponse;
 import com.hytaleonlinelist.exception.ConflictException;
 import com.hytaleonlinelist.exception.ResourceNotFoundException;
+import com.hytaleonlinelist.security.TokenRevocations;
+import com.hytaleonlinelist.service.cache.ServerCacheVersions;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.UUID;
 
@@ -22,10 +26,17 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final VoteRepository voteRepository;
+    private final ServerCacheVersions cacheVersions;
+    private final TokenRevocations tokenRevocations;
 
-    public UserService(UserRepository userRepository, VoteRepository voteRepository) {
+    public UserService(UserRepository userRepository,
+                       VoteRepository voteRepository,
+                       ServerCacheVersions cacheVersions,
+                       TokenRevocations tokenRevocations) {
         this.userRepository = userRepository;
         this.voteRepository = voteRepository;
+        this.cacheVersions = cacheVersions;
+        this.tokenRevocations = tokenRevocations;
     }
 
     @Transactional(readOnly = true)
@@ -47,6 +58,7 @@ public class UserService {
                 throw new ConflictException("Username already taken");
             }
             user.setUsername(request.username());
+            tokenRevocations.revoke(userId);
         }
 
         // Update avatar URL if provided
@@ -61,12 +73,22 @@ public class UserService {
 
         userRepository.save(user);
 
+        // Owner name and avatar are embedded in cached server responses
+        if (request.username() != null || request.avatarUrl() != null) {
+            cacheVersions.bumpAll();
+        }
+
         return toProfileResponse(user);
     }
 
     @Transactional(readOnly = true)
     public Page<UserVoteResponse> getMyVotes(UUID userId, Pageable pageable) {
-        Page<VoteEntity> votes = voteRepository.findByUserIdWithServer(userId, pageable);
+        UserEntity user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        // Votes cannot predate the account (a day of slack covers time zone differences)
+        LocalDate sinceDate = LocalDate.ofInstant(user.getCreatedAt(), ZoneId.systemDefault()).minusDays(1);
+
+        Page<VoteEntity> votes = voteRepository.findByUserIdWithServer(userId, sinceDate, pageable);
 
         return votes.map(vote -> new UserVoteResponse(
                 vote.getId().toString(),
@@ -0,0 +1,68 @@
+package com.hytaleonlinelist.service;
+
+import com.hytaleonlinelist.domain.repository.VoteRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+
+/**
+ * Keeps the monthly partitions of the votes table ahead of time and optionally archives
+ * old ones. Archived partitions are detached (and renamed archived_*) rather than dropped;
+ * their counts live on in vote_daily_counts.
+ */
+@Service
+public class VotePartitionMaintenanceService {
+
+    private static final Logger log = LoggerFactory.getLogger(VotePartitionMaintenanceService.class);
+
+    private static final int MONTHS_AHEAD = 3;
+
+    private final VoteRepository voteRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int archiveAfterMonths;
+
+    public VotePartitionMaintenanceService(
+            VoteRepository voteRepository,
+            TransactionTemplate transactionTemplate,
+            @Value("${votes.archive-after-months:0}") int archiveAfterMonths) {
+        this.voteRepository = voteRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.archiveAfterMonths = archiveAfterMonths;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintainPartitions();
+    }
+
+    /**
+     * Create upcoming partitions and archive expired ones daily at 4 AM
+     */
+    @Scheduled(cron = "0 0 4 * * *")
+    public void maintainPartitions() {
+        try {
+            LocalDate month = LocalDate.now().withDayOfMonth(1);
+            for (int i = 0; i <= MONTHS_AHEAD; i++) {
+                LocalDate monthStart = month.plusMonths(i);
+                transactionTemplate.executeWithoutResult(status -> voteRepository.createPartition(monthStart));
+            }
+
+            if (archiveAfterMonths > 0) {
+                LocalDate cutoff = month.minusMonths(archiveAfterMonths);
+                Integer archived = transactionTemplate.execute(status -> voteRepository.archivePartitionsBefore(cutoff));
+                if (archived != null && archived > 0) {
+                    log.info("Archived {} vote partitions ending before {}", archived, cutoff);
+                }
+            }
+        } catch (Exception e) {
+            log.error("Vote partition maintenance failed: {}", e.getMessage(), e);
+        }
+    }
+}
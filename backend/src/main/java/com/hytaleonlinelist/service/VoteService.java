@@ -1,18 +1,26 @@
 package com.hytaleonlinelist.service;
 
-import com.hytaleonlinelist.domain.entity.ServerEntity;
 import com.hytaleonlinelist.domain.entity.UserEntity;
-import com.hytaleonlinelist.domain.entity.VoteEntity;
-import com.hytaleonlinelist.domain.repository.ServerRepository;
 import com.hytaleonlinelist.domain.repository.VoteRepository;
 import com.hytaleonlinelist.dto.response.VoteResponse;
 import com.hytaleonlinelist.exception.ResourceNotFoundException;
 import com.hytaleonlinelist.exception.VoteAlreadyExistsException;
 import com.hytaleonlinelist.mapper.VoteMapper;
+import com.hytaleonlinelist.service.ranking.TrendingScores;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
@@ -20,45 +28,111 @@ import java.util.UUID;
 public class VoteService {
 
     private final VoteRepository voteRepository;
-    private final ServerRepository serverRepository;
-    private final ServerService serverService;
+    private final ServerVoteCounter voteCounter;
+    private final VotedTodayIndex votedToday;
+    private final TrendingScores trendingScores;
     private final VoteMapper voteMapper;
 
     public VoteService(VoteRepository voteRepository,
-                      ServerRepository serverRepository,
-                      ServerService serverService,
+                      ServerVoteCounter voteCounter,
+                      VotedTodayIndex votedToday,
+                      TrendingScores trendingScores,
                       VoteMapper voteMapper) {
         this.voteRepository = voteRepository;
-        this.serverRepository = serverRepository;
-        this.serverService = serverService;
+        this.voteCounter = voteCounter;
+        this.votedToday = votedToday;
+        this.trendingScores = trendingScores;
         this.voteMapper = voteMapper;
     }
 
+    /**
+     * Records a vote with a single INSERT ... ON CONFLICT DO NOTHING; the daily unique
+     * constraint decides duplicates, so there is no check-then-insert race. The server's
+     * vote count is updated asynchronously by {@link ServerVoteCounter}.
+     */
     @Transactional
     public VoteResponse voteForServer(UUID serverId, UserEntity user) {
-        ServerEntity server = serverRepository.findById(serverId)
-                .orElseThrow(() -> new ResourceNotFoundException("Server not found"));
+        // Known duplicates are rejected without touching the database
+        if (votedToday.lookup(user.getId(), serverId) == VotedTodayIndex.Answer.VOTED) {
+            throw new VoteAlreadyExistsException("You have already voted for this server today");
+        }
 
-        LocalDate today = LocalDate.now();
+        UUID voteId = UUID.randomUUID();
+        Instant votedAt = Instant.now();
+        LocalDate voteDate = LocalDate.now();
 
-        // Check if user already voted today
-        if (voteRepository.existsByServerIdAndUserIdAndVoteDate(serverId, user.getId(), today)) {
+        List<UUID> inserted;
+        try {
+            inserted = voteRepository.insertIfAbsent(voteId, serverId, user.getId(), votedAt, voteDate);
+        } catch (DataIntegrityViolationException e) {
+            // Foreign key violation: the server does not exist
+            throw new ResourceNotFoundException("Server not found");
+        }
+
+        if (inserted.isEmpty()) {
+            // Voted through another instance; remember it
+            votedToday.record(user.getId(), serverId, voteDate);
             throw new VoteAlreadyExistsException("You have already voted for this server today");
         }
 
-        VoteEntity vote = new VoteEntity();
-        vote.setServer(server);
-        vote.setUser(user);
+        voteCounter.recordVote(serverId, voteDate);
+        afterCommit(user.getId(), serverId, voteDate);
+
+        return new VoteResponse(
+                voteId.toString(),
+                serverId.toString(),
+                user.getId().toString(),
+                voteMapper.formatInstant(votedAt)
+        );
+    }
 
-        VoteEntity saved = voteRepository.save(vote);
+    /**
+     * Answered from the index when it knows; otherwise the user's votes of the day are
+     * read in one query and handed to the index, so the next checks skip the database.
+     */
+    public boolean hasVotedToday(UUID serverId, UUID userId) {
+        VotedTodayIndex.Answer answer = votedToday.lookup(userId, serverId);
+        if (answer != VotedTodayIndex.Answer.UNKNOWN) {
+            return answer == VotedTodayIndex.Answer.VOTED;
+        }
+        return loadVotedToday(userId).contains(serverId);
+    }
 
-        // Increment server vote count
-        serverService.incrementVoteCount(serverId);
+    /**
+     * Vote status for several servers at once, keyed by server id.
+     * At most one query, and none while the index knows the user's votes.
+     */
+    public Map<UUID, Boolean> getVotedToday(UUID userId, Collection<UUID> serverIds) {
+        Map<UUID, Boolean> statuses = new LinkedHashMap<>();
+        Set<UUID> loaded = null;
+        for (UUID serverId : serverIds) {
+            VotedTodayIndex.Answer answer = votedToday.lookup(userId, serverId);
+            if (answer == VotedTodayIndex.Answer.UNKNOWN) {
+                if (loaded == null) {
+                    loaded = loadVotedToday(userId);
+                }
+                statuses.put(serverId, loaded.contains(serverId));
+            } else {
+                statuses.put(serverId, answer == VotedTodayIndex.Answer.VOTED);
+            }
+        }
+        return statuses;
+    }
 
-        return voteMapper.toResponse(saved);
+    private Set<UUID> loadVotedToday(UUID userId) {
+        LocalDate today = LocalDate.now();
+        List<UUID> voted = voteRepository.findVotedServerIds(userId, today);
+        votedToday.confirm(userId, today, voted);
+        return new HashSet<>(voted);
     }
 
-    public boolean hasVotedToday(UUID serverId, UUID userId) {
-        return voteRepository.existsByServerIdAndUserIdAndVoteDate(serverId, userId, LocalDate.now());
+    private void afterCommit(UUID userId, UUID serverId, LocalDate voteDate) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                votedToday.record(userId, serverId, voteDate);
+                trendingScores.recordVote(serverId);
+            }
+        });
     }
 }
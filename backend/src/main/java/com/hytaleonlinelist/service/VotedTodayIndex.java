@@ -0,0 +1,128 @@
+package com.hytaleonlinelist.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hytaleonlinelist.domain.repository.VoteRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory set of (user, server) pairs that have voted today.
+ *
+ * Loaded from the votes table at startup and kept current from committed votes on this
+ * instance; it rotates to an empty set when the date changes. A pair in the set is
+ * {@link Answer#VOTED} for good.
+ *
+ * Votes written by other instances are not seen, so a missing pair only means
+ * {@link Answer#NOT_VOTED} for a short while after the user's votes of the day were
+ * read from the database ({@link #confirm}); otherwise it is {@link Answer#UNKNOWN} and
+ * callers query. A vote cast elsewhere inside that window shows as not voted until it
+ * expires, which is harmless: the unique constraint on votes decides whether a vote
+ * is accepted.
+ */
+@Component
+public class VotedTodayIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(VotedTodayIndex.class);
+
+    public enum Answer { VOTED, NOT_VOTED, UNKNOWN }
+
+    private final VoteRepository voteRepository;
+    private final Duration confirmedTtl;
+    private volatile Day day;
+
+    public VotedTodayIndex(
+            VoteRepository voteRepository,
+            @Value("${votes.voted-today.confirmed-ttl:30s}") Duration confirmedTtl) {
+        this.voteRepository = voteRepository;
+        this.confirmedTtl = confirmedTtl;
+        this.day = new Day(LocalDate.now());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        Day current = current();
+        try {
+            for (Object[] row : voteRepository.findVoterPairsByDate(current.date)) {
+                current.votes.add(new VotePair((UUID) row[0], (UUID) row[1]));
+            }
+            log.info("Loaded {} votes for {} into the voted-today index", current.votes.size(), current.date);
+        } catch (Exception e) {
+            log.error("Failed to load voted-today index, votes will be looked up per user: {}",
+                    e.getMessage(), e);
+        }
+    }
+
+    public Answer lookup(UUID userId, UUID serverId) {
+        Day current = current();
+        if (current.votes.contains(new VotePair(userId, serverId))) {
+            return Answer.VOTED;
+        }
+        return current.confirmedUsers.getIfPresent(userId) != null ? Answer.NOT_VOTED : Answer.UNKNOWN;
+    }
+
+    /**
+     * Record a vote that exists in the database for the given date.
+     */
+    public void record(UUID userId, UUID serverId, LocalDate voteDate) {
+        Day current = current();
+        if (current.date.equals(voteDate)) {
+            current.votes.add(new VotePair(userId, serverId));
+        }
+    }
+
+    /**
+     * Record all servers a user voted for on the given date, as just read from the
+     * database, so servers missing from them answer {@link Answer#NOT_VOTED} for a while.
+     */
+    public void confirm(UUID userId, LocalDate voteDate, Collection<UUID> votedServerIds) {
+        Day current = current();
+        if (current.date.equals(voteDate)) {
+            for (UUID serverId : votedServerIds) {
+                current.votes.add(new VotePair(userId, serverId));
+            }
+            current.confirmedUsers.put(userId, Boolean.TRUE);
+        }
+    }
+
+    private Day current() {
+        Day current = day;
+        LocalDate today = LocalDate.now();
+        if (current.date.equals(today)) {
+            return current;
+        }
+        synchronized (this) {
+            if (!day.date.equals(today)) {
+                day = new Day(today);
+            }
+            return day;
+        }
+    }
+
+    private record VotePair(UUID userId, UUID serverId) {}
+
+    private final class Day {
+        final LocalDate date;
+        final Set<VotePair> votes = ConcurrentHashMap.newKeySet();
+        // Users whose votes of the day were read from the database recently
+        final Cache<UUID, Boolean> confirmedUsers = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(confirmedTtl)
+                .build();
+
+        Day(LocalDate date) {
+            this.date = date;
+        }
+    }
+}
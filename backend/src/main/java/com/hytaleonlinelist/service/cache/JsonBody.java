@@ -0,0 +1,57 @@
+package com.hytaleonlinelist.service.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * An immutable, already-serialized UTF-8 JSON body.
+ * The gzip variant is produced on first use and then kept alongside the plain bytes.
+ */
+public final class JsonBody {
+
+    private final byte[] json;
+    private volatile byte[] gzip;
+
+    public JsonBody(byte[] json) {
+        this.json = json;
+    }
+
+    /**
+     * Plain UTF-8 JSON. Callers must not modify the returned array.
+     */
+    public byte[] json() {
+        return json;
+    }
+
+    /**
+     * Gzip-compressed JSON. Callers must not modify the returned array.
+     */
+    public byte[] gzip() {
+        byte[] compressed = gzip;
+        if (compressed == null) {
+            // Benign race: concurrent first callers may each compress once
+            compressed = compress(json);
+            gzip = compressed;
+        }
+        return compressed;
+    }
+
+    /**
+     * Estimated retained size in bytes, counting the gzip variant as if present.
+     */
+    int weight() {
+        return 64 + json.length + json.length / 4;
+    }
+
+    private static byte[] compress(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, data.length / 4));
+        try (GZIPOutputStream gzipOut = new GZIPOutputStream(out)) {
+            gzipOut.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
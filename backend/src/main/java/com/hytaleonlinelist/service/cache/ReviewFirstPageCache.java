@@ -0,0 +1,77 @@
+package com.hytaleonlinelist.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hytaleonlinelist.config.CacheProperties;
+import com.hytaleonlinelist.dto.response.ReviewResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Cache of the newest reviews of each server, which is what nearly every review read asks for.
+ *
+ * Entries are viewer-independent (isOwner is false) and record the sequence they were
+ * loaded at; they are reloaded once the server has been bumped since, which every review
+ * write does through the rating aggregate update.
+ */
+@Component
+public class ReviewFirstPageCache {
+
+    /**
+     * Reviews kept per server: the largest page served from cache plus one to tell
+     * whether a next page exists.
+     */
+    public static final int MAX_CACHED_REVIEWS = 51;
+
+    private final ServerCacheVersions versions;
+    private final boolean enabled;
+    private final Cache<UUID, CachedReviews> reviews;
+
+    public ReviewFirstPageCache(
+            ServerCacheVersions versions,
+            CacheProperties properties,
+            MeterRegistry meterRegistry) {
+        this.versions = versions;
+        this.enabled = properties.isEnabled();
+        this.reviews = Caffeine.newBuilder()
+                .maximumSize(properties.getReviewFirstPageMaxEntries())
+                .expireAfterWrite(properties.getDetailTtl())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, reviews, "reviews.first_page");
+    }
+
+    /**
+     * The newest {@link #MAX_CACHED_REVIEWS} reviews of a server, loading them on a miss
+     * or when the cached copy is stale.
+     *
+     * @param serverId the server
+     * @param loader   loads the newest reviews, at most {@link #MAX_CACHED_REVIEWS}
+     */
+    public List<ReviewResponse> get(UUID serverId, Function<UUID, List<ReviewResponse>> loader) {
+        if (!enabled) {
+            return loader.apply(serverId);
+        }
+
+        Function<UUID, CachedReviews> load = id -> {
+            // Take the sequence before reading so a concurrent bump always marks this entry stale
+            long loadedAt = versions.generation();
+            return new CachedReviews(List.copyOf(loader.apply(id)), loadedAt);
+        };
+
+        CachedReviews entry = reviews.get(serverId, load);
+        if (!versions.isCurrent(serverId, entry.loadedAt())) {
+            reviews.asMap().remove(serverId, entry);
+            entry = reviews.get(serverId, load);
+        }
+        return entry.reviews();
+    }
+
+    private record CachedReviews(List<ReviewResponse> reviews, long loadedAt) {}
+}
@@ -0,0 +1,261 @@
+package com.hytaleonlinelist.service.cache;
+
+import com.hytaleonlinelist.domain.entity.ServerCacheChangeEntity;
+import com.hytaleonlinelist.domain.repository.ServerCacheChangeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Data version counters for cached server reads.
+ *
+ * Every change draws a new value from a single sequence. A server's version is the
+ * sequence value of its last change, and the listing generation is the latest value
+ * overall. A cached entry loaded at sequence {@code s} is current as long as nothing
+ * it depends on was bumped after {@code s}.
+ *
+ * Bumps issued inside a transaction are applied after commit, so readers never
+ * cache pre-commit data under a post-commit version.
+ *
+ * Versions restart at zero on every boot, so HTTP validators built from them are
+ * prefixed with a random per-process epoch.
+ *
+ * Versions are local to the node, so every change is also written to
+ * {@code server_cache_changes} and each node polls for the changes of the others and
+ * bumps its own versions. Another node therefore serves a stale read (or 304) for at
+ * most one sync interval.
+ */
+@Component
+public class ServerCacheVersions {
+
+    private static final Logger log = LoggerFactory.getLogger(ServerCacheVersions.class);
+
+    /**
+     * How far back each poll looks, so changes committed late by slow transactions are still seen.
+     */
+    private static final Duration SYNC_OVERLAP = Duration.ofMinutes(1);
+
+    /**
+     * How long change rows are kept; nodes that were not polling start with empty caches anyway.
+     */
+    private static final Duration CHANGE_RETENTION = Duration.ofMinutes(10);
+
+    private final ServerCacheChangeRepository changeRepository;
+    private final TransactionTemplate publishTransaction;
+    private final TransactionTemplate transactionTemplate;
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<UUID, Long> serverVersions = new ConcurrentHashMap<>();
+    private final AtomicLong globalFloor = new AtomicLong();
+    private final AtomicLong lastModified = new AtomicLong(System.currentTimeMillis());
+    private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+    private final Map<Long, Instant> appliedChanges = new HashMap<>();
+    private Instant lastChangeSeen;
+
+    public ServerCacheVersions(
+            ServerCacheChangeRepository changeRepository,
+            TransactionTemplate transactionTemplate) {
+        this.changeRepository = changeRepository;
+        this.transactionTemplate = transactionTemplate;
+        // Published after the caller's commit, which must not be joined
+        this.publishTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.publishTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Current listing generation. Any server change advances it.
+     */
+    public long generation() {
+        return sequence.get();
+    }
+
+    /**
+     * Version of a single server, or of the last global bump if that is newer.
+     */
+    public long serverVersion(UUID serverId) {
+        return Math.max(serverVersions.getOrDefault(serverId, 0L), globalFloor.get());
+    }
+
+    /**
+     * Wall-clock time of the most recent change of any server, in epoch millis.
+     */
+    public long lastModified() {
+        return lastModified.get();
+    }
+
+    /**
+     * Validator fragment for data that depends on every server.
+     */
+    public String generationTag() {
+        return epoch + "." + generation();
+    }
+
+    /**
+     * Validator fragment for data that depends on one server.
+     */
+    public String serverTag(UUID serverId) {
+        return epoch + "." + serverVersion(serverId);
+    }
+
+    /**
+     * Whether data for the given server loaded at {@code loadedAt} is still current.
+     */
+    public boolean isCurrent(UUID serverId, long loadedAt) {
+        return serverVersion(serverId) <= loadedAt;
+    }
+
+    /**
+     * Mark a single server as changed.
+     */
+    public void bumpServer(UUID serverId) {
+        if (serverId == null) {
+            return;
+        }
+        afterCommit(() -> {
+            applyServers(List.of(serverId));
+            publish(List.of(serverId));
+        });
+    }
+
+    /**
+     * Mark a batch of servers as changed with a single generation step
+     * (used by the status poller so one batch does not churn the listing keys).
+     */
+    public void bumpServers(Collection<UUID> serverIds) {
+        if (serverIds.isEmpty()) {
+            return;
+        }
+        List<UUID> ids = List.copyOf(serverIds);
+        afterCommit(() -> {
+            applyServers(ids);
+            publish(ids);
+        });
+    }
+
+    /**
+     * Invalidate every cached server read (bulk imports, data fixes, profile renames).
+     */
+    public void bumpAll() {
+        afterCommit(() -> {
+            applyAll();
+            publish(null);
+        });
+    }
+
+    /**
+     * Apply the changes other nodes made since the last poll.
+     */
+    @Scheduled(fixedDelayString = "${cache.version-sync-interval-ms:2000}")
+    public synchronized void sync() {
+        try {
+            Instant since = lastChangeSeen != null
+                    ? lastChangeSeen.minus(SYNC_OVERLAP)
+                    : Instant.now().minus(SYNC_OVERLAP);
+            List<UUID> changed = new ArrayList<>();
+            boolean all = false;
+            for (ServerCacheChangeEntity change : changeRepository.findByChangedAtAfterAndNodeNot(since, epoch)) {
+                if (appliedChanges.putIfAbsent(change.getId(), change.getChangedAt()) != null) {
+                    continue;
+                }
+                if (change.getServerId() == null) {
+                    all = true;
+                } else {
+                    changed.add(change.getServerId());
+                }
+                if (lastChangeSeen == null || change.getChangedAt().isAfter(lastChangeSeen)) {
+                    lastChangeSeen = change.getChangedAt();
+                }
+            }
+
+            if (all) {
+                applyAll();
+            } else if (!changed.isEmpty()) {
+                applyServers(changed);
+            }
+
+            if (lastChangeSeen != null) {
+                Instant forgotten = lastChangeSeen.minus(SYNC_OVERLAP);
+                appliedChanges.values().removeIf(at -> at.isBefore(forgotten));
+            }
+        } catch (Exception e) {
+            log.error("Failed to sync server cache changes: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Drop change rows every node has had time to poll.
+     */
+    @Scheduled(cron = "0 */10 * * * *")
+    public void purgeChanges() {
+        Instant cutoff = Instant.now().minus(CHANGE_RETENTION);
+        Integer deleted = transactionTemplate.execute(status -> changeRepository.deleteChangedBefore(cutoff));
+        log.debug("Purged {} server cache changes", deleted);
+    }
+
+    /**
+     * Bump the given servers locally with a single generation step.
+     */
+    private void applyServers(Collection<UUID> serverIds) {
+        long version = sequence.incrementAndGet();
+        for (UUID serverId : serverIds) {
+            serverVersions.merge(serverId, version, Math::max);
+        }
+        touch();
+    }
+
+    private void applyAll() {
+        globalFloor.accumulateAndGet(sequence.incrementAndGet(), Math::max);
+        touch();
+    }
+
+    /**
+     * Record a change for the other nodes; {@code serverIds} is null when every server changed.
+     * A failure only delays the other nodes until their cache entries expire.
+     */
+    private void publish(List<UUID> serverIds) {
+        try {
+            publishTransaction.executeWithoutResult(status -> {
+                if (serverIds == null) {
+                    changeRepository.insertGlobalChange(epoch);
+                } else {
+                    changeRepository.insertServerChanges(epoch, serverIds.toArray(new UUID[0]));
+                }
+            });
+        } catch (Exception e) {
+            log.warn("Failed to publish server cache change: {}", e.getMessage());
+        }
+    }
+
+    private void touch() {
+        lastModified.accumulateAndGet(System.currentTimeMillis(), Math::max);
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
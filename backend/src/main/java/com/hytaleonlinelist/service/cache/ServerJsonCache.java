@@ -0,0 +1,131 @@
+package com.hytaleonlinelist.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hytaleonlinelist.config.CacheProperties;
+import com.hytaleonlinelist.dto.response.PaginationMeta;
+import com.hytaleonlinelist.dto.response.ServerResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Serialized JSON fragments per server version.
+ *
+ * Each server is serialized once per data version with the application's JsonMapper,
+ * so fragments are byte-identical to what Jackson would write for the same record.
+ * Listing pages and lists are then assembled by concatenating fragments rather than
+ * re-serializing every {@link ServerResponse} (including its large description).
+ */
+@Component
+public class ServerJsonCache {
+
+    private static final byte[] PAGE_PREFIX = "{\"data\":[".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] PAGE_META = "],\"meta\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] PAGE_SUFFIX = "}".getBytes(StandardCharsets.UTF_8);
+
+    private final JsonMapper jsonMapper;
+    private final ServerCacheVersions versions;
+    private final Cache<FragmentKey, JsonBody> fragments;
+
+    public ServerJsonCache(
+            JsonMapper jsonMapper,
+            ServerCacheVersions versions,
+            CacheProperties properties,
+            MeterRegistry meterRegistry) {
+        this.jsonMapper = jsonMapper;
+        this.versions = versions;
+        this.fragments = Caffeine.newBuilder()
+                .maximumWeight(properties.getFragmentMaxWeightBytes())
+                .weigher((FragmentKey key, JsonBody body) -> body.weight())
+                .expireAfterAccess(properties.getDetailTtl())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, fragments, "servers.json");
+    }
+
+    /**
+     * Serialized form of a server loaded at sequence {@code loadedAt}.
+     * Data that was bumped while it loaded is serialized but not cached.
+     */
+    public JsonBody fragment(ServerResponse server, long loadedAt) {
+        UUID serverId = UUID.fromString(server.id());
+        long version = versions.serverVersion(serverId);
+        if (version > loadedAt) {
+            return serialize(server);
+        }
+        return fragments.get(new FragmentKey(serverId, version), key -> serialize(server));
+    }
+
+    /**
+     * A {@code PaginatedResponse<ServerResponse>} body assembled from fragments.
+     */
+    public JsonBody page(List<ServerResponse> servers, PaginationMeta meta, long loadedAt) {
+        List<JsonBody> parts = fragmentsOf(servers, loadedAt);
+        byte[] metaJson = jsonMapper.writeValueAsBytes(meta);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(
+                PAGE_PREFIX.length + sizeOf(parts) + PAGE_META.length + metaJson.length + PAGE_SUFFIX.length);
+        out.writeBytes(PAGE_PREFIX);
+        writeJoined(out, parts);
+        out.writeBytes(PAGE_META);
+        out.writeBytes(metaJson);
+        out.writeBytes(PAGE_SUFFIX);
+        return new JsonBody(out.toByteArray());
+    }
+
+    /**
+     * A JSON array of servers assembled from fragments.
+     */
+    public JsonBody list(List<ServerResponse> servers, long loadedAt) {
+        List<JsonBody> parts = fragmentsOf(servers, loadedAt);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(2 + sizeOf(parts));
+        out.write('[');
+        writeJoined(out, parts);
+        out.write(']');
+        return new JsonBody(out.toByteArray());
+    }
+
+    /**
+     * Serialize an arbitrary response body once.
+     */
+    public JsonBody serialize(Object value) {
+        return new JsonBody(jsonMapper.writeValueAsBytes(value));
+    }
+
+    private List<JsonBody> fragmentsOf(List<ServerResponse> servers, long loadedAt) {
+        List<JsonBody> parts = new ArrayList<>(servers.size());
+        for (ServerResponse server : servers) {
+            parts.add(fragment(server, loadedAt));
+        }
+        return parts;
+    }
+
+    private static int sizeOf(List<JsonBody> parts) {
+        int size = parts.size();
+        for (JsonBody part : parts) {
+            size += part.json().length;
+        }
+        return size;
+    }
+
+    private static void writeJoined(ByteArrayOutputStream out, List<JsonBody> parts) {
+        for (int i = 0; i < parts.size(); i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            out.writeBytes(parts.get(i).json());
+        }
+    }
+
+    private record FragmentKey(UUID serverId, long version) {}
+}
@@ -0,0 +1,227 @@
+package com.hytaleonlinelist.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hytaleonlinelist.config.CacheProperties;
+import com.hytaleonlinelist.dto.response.PaginatedResponse;
+import com.hytaleonlinelist.dto.response.ServerResponse;
+import com.hytaleonlinelist.service.CategoryService;
+import com.hytaleonlinelist.service.ServerService;
+import com.hytaleonlinelist.service.ranking.ServerRankingService;
+import com.hytaleonlinelist.service.ranking.ServerSort;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Read-through cache in front of the public server and category reads.
+ *
+ * Runs outside any transaction so a hit does no database work at all. Caffeine
+ * provides W-TinyLFU eviction bounded by an estimated byte weight, and
+ * {@link Cache#get} coalesces concurrent misses for the same key into one load.
+ *
+ * Featured and category entries are keyed by the listing generation from
+ * {@link ServerCacheVersions}, so any server change routes readers to a fresh key.
+ * Listings are keyed by the ranking snapshot instead, which only moves when membership
+ * or order can have changed; they record the servers on the page and the sequence they
+ * were loaded at, and are reloaded once one of those servers has been bumped since.
+ * Detail entries are checked the same way against their single server.
+ *
+ * Entries are stored as serialized JSON (see {@link ServerJsonCache}) so a hit is
+ * written to the response without touching Jackson.
+ */
+@Service
+public class ServerReadCache {
+
+    private final ServerService serverService;
+    private final CategoryService categoryService;
+    private final ServerCacheVersions versions;
+    private final ServerRankingService rankingService;
+    private final ServerJsonCache jsonCache;
+    private final boolean enabled;
+
+    private final Cache<ListingKey, CachedListing> listings;
+    private final Cache<String, CachedServer> details;
+    private final Cache<Long, JsonBody> featured;
+    private final Cache<Long, JsonBody> categories;
+
+    public ServerReadCache(
+            ServerService serverService,
+            CategoryService categoryService,
+            ServerCacheVersions versions,
+            ServerRankingService rankingService,
+            ServerJsonCache jsonCache,
+            CacheProperties properties,
+            MeterRegistry meterRegistry) {
+        this.serverService = serverService;
+        this.categoryService = categoryService;
+        this.versions = versions;
+        this.rankingService = rankingService;
+        this.jsonCache = jsonCache;
+        this.enabled = properties.isEnabled();
+
+        this.listings = Caffeine.newBuilder()
+                .maximumWeight(properties.getListingMaxWeightBytes())
+                .weigher((ListingKey key, CachedListing entry) -> entry.body().weight())
+                .expireAfterWrite(properties.getListingTtl())
+                .recordStats()
+                .build();
+
+        this.details = Caffeine.newBuilder()
+                .maximumWeight(properties.getDetailMaxWeightBytes())
+                .weigher((String slug, CachedServer entry) -> entry.body().weight())
+                .expireAfterWrite(properties.getDetailTtl())
+                .recordStats()
+                .build();
+
+        // Only the current generation is ever read; a couple of slots cover the handover
+        this.featured = Caffeine.newBuilder()
+                .maximumSize(2)
+                .expireAfterWrite(properties.getListingTtl())
+                .recordStats()
+                .build();
+
+        this.categories = Caffeine.newBuilder()
+                .maximumSize(2)
+                .expireAfterWrite(properties.getListingTtl())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, listings, "servers.listing");
+        CaffeineCacheMetrics.monitor(meterRegistry, details, "servers.detail");
+        CaffeineCacheMetrics.monitor(meterRegistry, featured, "servers.featured");
+        CaffeineCacheMetrics.monitor(meterRegistry, categories, "categories");
+    }
+
+    public JsonBody getServers(
+            String sort,
+            String category,
+            String search,
+            Boolean online,
+            int page,
+            int limit) {
+        ListingKey key = new ListingKey(
+                rankingService.snapshotId(),
+                ServerSort.from(sort).param(),
+                normalize(category),
+                normalize(search),
+                online,
+                page,
+                limit
+        );
+
+        if (!enabled) {
+            return loadServers(key).body();
+        }
+
+        CachedListing entry = listings.get(key, this::loadServers);
+        if (!entry.isCurrent(versions)) {
+            listings.asMap().remove(key, entry);
+            entry = listings.get(key, this::loadServers);
+        }
+        return entry.body();
+    }
+
+    public CachedServer getServerBySlug(String slug) {
+        if (!enabled) {
+            return loadServer(slug);
+        }
+
+        CachedServer entry = details.get(slug, this::loadServer);
+        if (!versions.isCurrent(entry.serverId(), entry.loadedAt())) {
+            // Only the first stale reader removes it; everyone then coalesces on one reload
+            details.asMap().remove(slug, entry);
+            entry = details.get(slug, this::loadServer);
+        }
+        return entry;
+    }
+
+    /**
+     * Id of the server a slug resolved to when it was last cached, so callers can
+     * check validators without loading it. Empty if the slug is not cached.
+     */
+    public Optional<UUID> cachedServerId(String slug) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(details.getIfPresent(slug)).map(CachedServer::serverId);
+    }
+
+    public JsonBody getFeaturedServers() {
+        if (!enabled) {
+            return loadFeatured(versions.generation());
+        }
+        return featured.get(versions.generation(), this::loadFeatured);
+    }
+
+    public JsonBody getAllCategories() {
+        if (!enabled) {
+            return jsonCache.serialize(categoryService.getAllCategories());
+        }
+        return categories.get(versions.generation(),
+                generation -> jsonCache.serialize(categoryService.getAllCategories()));
+    }
+
+    private CachedListing loadServers(ListingKey key) {
+        long loadedAt = versions.generation();
+        PaginatedResponse<ServerResponse> page = serverService.getServers(
+                key.sort(), key.category(), key.search(), key.online(), key.page(), key.limit());
+        List<UUID> serverIds = page.data().stream()
+                .map(server -> UUID.fromString(server.id()))
+                .toList();
+        return new CachedListing(jsonCache.page(page.data(), page.meta(), loadedAt), serverIds, loadedAt);
+    }
+
+    private JsonBody loadFeatured(long generation) {
+        return jsonCache.list(serverService.getFeaturedServers(), generation);
+    }
+
+    private CachedServer loadServer(String slug) {
+        // Take the sequence before reading so a concurrent bump always marks this entry stale
+        long loadedAt = versions.generation();
+        ServerResponse response = serverService.getServerBySlug(slug);
+        return new CachedServer(jsonCache.fragment(response, loadedAt), UUID.fromString(response.id()), loadedAt);
+    }
+
+    private static String normalize(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record ListingKey(
+            long rankingSnapshot,
+            String sort,
+            String category,
+            String search,
+            Boolean online,
+            int page,
+            int limit
+    ) {}
+
+    /**
+     * A serialized listing page, the servers on it and the sequence it was loaded at.
+     */
+    private record CachedListing(JsonBody body, List<UUID> serverIds, long loadedAt) {
+
+        boolean isCurrent(ServerCacheVersions versions) {
+            for (UUID serverId : serverIds) {
+                if (!versions.isCurrent(serverId, loadedAt)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * A serialized server detail body and the sequence it was loaded at.
+     */
+    public record CachedServer(JsonBody body, UUID serverId, long loadedAt) {}
+}
@@ -6,6 +6,7 @@ import com.hytaleonlinelist.domain.entity.ServerTagEntity;
 import com.hytaleonlinelist.domain.repository.CategoryRepository;
 import com.hytaleonlinelist.domain.repository.ServerRepository;
 import com.hytaleonlinelist.service.FileUploadService;
+import com.hytaleonlinelist.service.cache.ServerCacheVersions;
 import com.hytaleonlinelist.service.dataimport.ExternalServerDto.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -38,6 +39,7 @@ public class DataImportService {
     private final RestClient restClient;
     private final FileUploadService fileUploadService; // May be null if R2 is disabled
     private final TransactionTemplate transactionTemplate;
+    private final ServerCacheVersions cacheVersions;
 
     // Mapping from external tag slugs to our category slugs
     private static final Map<String, String> TAG_TO_CATEGORY_MAP = Map.ofEntries(
@@ -62,11 +64,13 @@ public class DataImportService {
         ServerRepository serverRepository,
         CategoryRepository categoryRepository,
         TransactionTemplate transactionTemplate,
+        ServerCacheVersions cacheVersions,
         @Autowired(required = false) FileUploadService fileUploadService
     ) {
         this.serverRepository = serverRepository;
         this.categoryRepository = categoryRepository;
         this.transactionTemplate = transactionTemplate;
+        this.cacheVersions = cacheVersions;
         this.fileUploadService = fileUploadService;
         this.restClient = RestClient.builder()
             .baseUrl(EXTERNAL_API_URL)
@@ -236,6 +240,7 @@ public class DataImportService {
             // Batch save for this page
             if (!serversToSave.isEmpty()) {
                 serverRepository.saveAll(serversToSave);
+                cacheVersions.bumpAll();
                 imported = serversToSave.size();
                 log.info("Saved {} servers from page {}", imported, pageNumber);
             }
@@ -301,6 +306,8 @@ public class DataImportService {
         server.setReviewCount(data.totalReviews() != null ? data.totalReviews() : 0);
         if (data.averageRating() != null) {
             server.setAverageRating(BigDecimal.valueOf(data.averageRating()));
+            // Keep the rating sum consistent so later reviews adjust the imported average
+            server.setRatingSum(Math.round(data.averageRating() * server.getReviewCount()));
         }
         server.setViewCount(0L);
 
@@ -0,0 +1,87 @@
+package com.hytaleonlinelist.service.query;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hytaleonlinelist.domain.entity.ServerEntity;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The MOTD and name each server reported on its latest successful query.
+ *
+ * The status poller records every online result here, so MOTD claim verification can
+ * check what the server said a minute ago instead of probing it again. When a fresh
+ * answer is needed, {@link #probe} queries the server right away on the caller's thread
+ * (not queued behind the poller), and concurrent probes of one server share one query.
+ */
+@Component
+public class ServerQuerySnapshots {
+
+    private static final Duration RETENTION = Duration.ofHours(1);
+
+    private final ServerQueryService queryService;
+    private final Cache<UUID, Snapshot> snapshots = Caffeine.newBuilder()
+            .maximumSize(50_000)
+            .expireAfterWrite(RETENTION)
+            .build();
+    private final Map<UUID, CompletableFuture<QueryResult>> inFlight = new ConcurrentHashMap<>();
+
+    public ServerQuerySnapshots(ServerQueryService queryService) {
+        this.queryService = queryService;
+    }
+
+    /**
+     * What a server reported, and when.
+     */
+    public record Snapshot(String motd, String serverName, Instant queriedAt) {
+
+        public boolean isFresherThan(Duration maxAge) {
+            return queriedAt.plus(maxAge).isAfter(Instant.now());
+        }
+    }
+
+    /**
+     * Remember a query result. Offline results are ignored.
+     */
+    public void record(UUID serverId, QueryResult result) {
+        if (result.online()) {
+            snapshots.put(serverId, new Snapshot(result.motd(), result.serverName(), Instant.now()));
+        }
+    }
+
+    public Optional<Snapshot> get(UUID serverId) {
+        return Optional.ofNullable(snapshots.getIfPresent(serverId));
+    }
+
+    /**
+     * Query a server now and record the result. Callers arriving while a probe of the
+     * same server is running wait for that probe instead of starting another.
+     */
+    public QueryResult probe(ServerEntity server) {
+        UUID serverId = server.getId();
+        CompletableFuture<QueryResult> probe = new CompletableFuture<>();
+        CompletableFuture<QueryResult> running = inFlight.putIfAbsent(serverId, probe);
+        if (running != null) {
+            return running.join();
+        }
+
+        try {
+            QueryResult result = queryService.queryServer(server);
+            record(serverId, result);
+            probe.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            probe.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(serverId, probe);
+        }
+    }
+}
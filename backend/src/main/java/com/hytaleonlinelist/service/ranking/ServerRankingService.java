@@ -0,0 +1,236 @@
+package com.hytaleonlinelist.service.ranking;
+
+import com.hytaleonlinelist.domain.entity.VotePeriod;
+import com.hytaleonlinelist.domain.projection.ServerRankingRow;
+import com.hytaleonlinelist.domain.repository.ServerPeriodVoteRepository;
+import com.hytaleonlinelist.domain.repository.ServerRepository;
+import com.hytaleonlinelist.service.cache.ServerCacheVersions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Pre-sorted server id arrays for every (sort, category, online) combination.
+ *
+ * A snapshot is built from one slim projection query, sorted once per sort order and
+ * split into filtered arrays in a single pass, then swapped in atomically. A listing
+ * page is an array slice followed by one batched hydration query, instead of an
+ * {@code ORDER BY CASE ...} over the whole table per request.
+ *
+ * Snapshots are rebuilt on a schedule when the data generation has moved, or when
+ * they get old enough for the trending scores ({@link TrendingScores}) to have drifted.
+ */
+@Service
+public class ServerRankingService {
+
+    private static final Logger log = LoggerFactory.getLogger(ServerRankingService.class);
+
+    private static final Duration MAX_SNAPSHOT_AGE = Duration.ofMinutes(5);
+    private static final UUID[] EMPTY = new UUID[0];
+
+    private final ServerRepository serverRepository;
+    private final ServerPeriodVoteRepository periodVoteRepository;
+    private final TrendingScores trendingScores;
+    private final ServerCacheVersions cacheVersions;
+    private final AtomicReference<RankingSnapshot> snapshot = new AtomicReference<>();
+
+    public ServerRankingService(
+            ServerRepository serverRepository,
+            ServerPeriodVoteRepository periodVoteRepository,
+            TrendingScores trendingScores,
+            ServerCacheVersions cacheVersions) {
+        this.serverRepository = serverRepository;
+        this.periodVoteRepository = periodVoteRepository;
+        this.trendingScores = trendingScores;
+        this.cacheVersions = cacheVersions;
+    }
+
+    /**
+     * A page of ranked server ids plus the total size of the ranking.
+     */
+    public record RankingSlice(List<UUID> ids, int total) {}
+
+    /**
+     * Slice a ranking, or empty if no snapshot has been built yet.
+     */
+    public Optional<RankingSlice> slice(ServerSort sort, String category, Boolean online, long offset, int limit) {
+        RankingSnapshot current = snapshot.get();
+        if (current == null) {
+            return Optional.empty();
+        }
+
+        String categorySlug = category != null && !category.isBlank()
+                ? category.trim().toLowerCase(Locale.ROOT)
+                : null;
+        UUID[] ranking = current.rankings().getOrDefault(new RankingKey(sort, categorySlug, online), EMPTY);
+
+        int from = (int) Math.min(offset, ranking.length);
+        int to = Math.min(from + limit, ranking.length);
+        return Optional.of(new RankingSlice(Arrays.asList(Arrays.copyOfRange(ranking, from, to)), ranking.length));
+    }
+
+    /**
+     * Identifier of the snapshot currently served (0 before the first build).
+     * Listing caches include it in their keys so a rebuild is picked up.
+     */
+    public long snapshotId() {
+        RankingSnapshot current = snapshot.get();
+        return current != null ? current.id() : 0;
+    }
+
+    /**
+     * Rebuild the snapshot if data changed since the last build or it has aged out.
+     * The first run after midnight rolls the weekly/monthly rankings over.
+     */
+    @Scheduled(fixedDelayString = "${ranking.refresh-interval-ms:30000}")
+    public void refresh() {
+        long generation = cacheVersions.generation();
+        RankingSnapshot current = snapshot.get();
+        if (current != null
+                && current.generation() == generation
+                && current.builtOn().equals(LocalDate.now())
+                && current.builtAt().plus(MAX_SNAPSHOT_AGE).isAfter(Instant.now())) {
+            return;
+        }
+
+        try {
+            long start = System.currentTimeMillis();
+            RankingSnapshot next = build(current != null ? current.id() + 1 : 1, generation);
+            snapshot.set(next);
+            log.debug("Rebuilt ranking snapshot {} ({} rankings) in {}ms",
+                    next.id(), next.rankings().size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            // Keep serving the previous snapshot (or the database fallback)
+            log.error("Failed to rebuild ranking snapshot: {}", e.getMessage(), e);
+        }
+    }
+
+    private RankingSnapshot build(long id, long generation) {
+        Instant now = Instant.now();
+        LocalDate today = LocalDate.now();
+        List<ServerRankingRow> rows = serverRepository.findAllRankingRows();
+        Map<UUID, Double> trending = trendingScores.scores();
+        Map<UUID, Integer> weekVotes = periodVotes(VotePeriod.WEEK, today);
+        Map<UUID, Integer> monthVotes = periodVotes(VotePeriod.MONTH, today);
+
+        Map<RankingKey, List<UUID>> buckets = new HashMap<>();
+        for (ServerSort sort : ServerSort.values()) {
+            List<ServerRankingRow> sorted = new ArrayList<>(rows);
+            sorted.sort(comparator(sort, trending, weekVotes, monthVotes));
+
+            // One pass files each row under every filter combination it belongs to
+            for (ServerRankingRow row : sorted) {
+                boolean online = Boolean.TRUE.equals(row.isOnline());
+                String category = row.categorySlug();
+                add(buckets, new RankingKey(sort, null, null), row.id());
+                add(buckets, new RankingKey(sort, null, online), row.id());
+                add(buckets, new RankingKey(sort, category, null), row.id());
+                add(buckets, new RankingKey(sort, category, online), row.id());
+            }
+        }
+
+        Map<RankingKey, UUID[]> rankings = new HashMap<>(buckets.size());
+        buckets.forEach((key, ids) -> rankings.put(key, ids.toArray(EMPTY)));
+        return new RankingSnapshot(id, generation, now, today, Map.copyOf(rankings));
+    }
+
+    private Map<UUID, Integer> periodVotes(VotePeriod period, LocalDate today) {
+        Map<UUID, Integer> counts = new HashMap<>();
+        for (Object[] row : periodVoteRepository.findCounts(period, period.start(today))) {
+            counts.put((UUID) row[0], (Integer) row[1]);
+        }
+        return counts;
+    }
+
+    private static void add(Map<RankingKey, List<UUID>> buckets, RankingKey key, UUID id) {
+        buckets.computeIfAbsent(key, k -> new ArrayList<>()).add(id);
+    }
+
+    /**
+     * Mirrors the ORDER BY of {@code ServerRepository.findWithFilters}: the sort column
+     * (nulls last, rating then review count), then newest first, then id. Names compare
+     * lowercased by code point, like {@code lower(name) COLLATE "C"}, so neither side
+     * depends on the database locale, and ids compare as unsigned bytes like Postgres.
+     * Trending and period sorts have no SQL column; the fallback orders them by lifetime votes.
+     */
+    private static Comparator<ServerRankingRow> comparator(
+            ServerSort sort,
+            Map<UUID, Double> trending,
+            Map<UUID, Integer> weekVotes,
+            Map<UUID, Integer> monthVotes) {
+        Comparator<ServerRankingRow> primary = switch (sort) {
+            case VOTES -> Comparator.comparing(ServerRankingRow::voteCount, desc());
+            case PLAYERS -> Comparator.comparing(ServerRankingRow::playerCount, desc());
+            case NEWEST -> Comparator.comparing(ServerRankingRow::createdAt, desc());
+            case NAME -> Comparator.<ServerRankingRow, String>comparing(
+                    row -> row.name() != null ? row.name().toLowerCase(Locale.ROOT) : null,
+                    Comparator.nullsLast(ServerRankingService::compareCodePoints));
+            case UPTIME -> Comparator.comparing(ServerRankingRow::uptimePercentage, desc());
+            case RATING -> Comparator.comparing(ServerRankingRow::averageRating, desc())
+                    .thenComparing(ServerRankingRow::reviewCount, desc());
+            case TRENDING -> Comparator.<ServerRankingRow, Double>comparing(
+                            row -> trending.getOrDefault(row.id(), 0.0), Comparator.reverseOrder())
+                    .thenComparing(ServerRankingRow::voteCount, desc());
+            case VOTES_WEEK -> periodComparator(weekVotes);
+            case VOTES_MONTH -> periodComparator(monthVotes);
+        };
+        return primary
+                .thenComparing(ServerRankingRow::createdAt, desc())
+                .thenComparing(ServerRankingRow::id, ServerRankingService::compareUuids);
+    }
+
+    private static Comparator<ServerRankingRow> periodComparator(Map<UUID, Integer> periodVotes) {
+        return Comparator.<ServerRankingRow, Integer>comparing(
+                        row -> periodVotes.getOrDefault(row.id(), 0), Comparator.reverseOrder())
+                .thenComparing(ServerRankingRow::voteCount, desc());
+    }
+
+    /**
+     * Order of {@code COLLATE "C"} on UTF-8 text: by code point, which differs from
+     * {@link String#compareTo} only around surrogate pairs.
+     */
+    private static int compareCodePoints(String a, String b) {
+        int i = 0;
+        int j = 0;
+        while (i < a.length() && j < b.length()) {
+            int ca = a.codePointAt(i);
+            int cb = b.codePointAt(j);
+            if (ca != cb) {
+                return Integer.compare(ca, cb);
+            }
+            i += Character.charCount(ca);
+            j += Character.charCount(cb);
+        }
+        return Integer.compare(a.length() - i, b.length() - j);
+    }
+
+    /**
+     * Order of the Postgres {@code uuid} type: its 16 bytes compared unsigned. {@link UUID#compareTo}
+     * compares the two halves as signed longs instead.
+     */
+    private static int compareUuids(UUID a, UUID b) {
+        int high = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return high != 0 ? high : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+
+    private static <T extends Comparable<? super T>> Comparator<T> desc() {
+        return Comparator.nullsLast(Comparator.<T>reverseOrder());
+    }
+
+    private record RankingKey(ServerSort sort, String category, Boolean online) {}
+
+    private record RankingSnapshot(
+            long id,
+            long generation,
+            Instant builtAt,
+            LocalDate builtOn,
+            Map<RankingKey, UUID[]> rankings
+    ) {}
+}
@@ -0,0 +1,56 @@
+package com.hytaleonlinelist.service.ranking;
+
+import java.util.Locale;
+
+/**
+ * Sort orders supported by the public server listing.
+ */
+public enum ServerSort {
+    VOTES("votes", "voteCount"),
+    PLAYERS("players", "playerCount"),
+    NEWEST("newest", "createdAt"),
+    NAME("name", "name"),
+    UPTIME("uptime", "uptimePercentage"),
+    RATING("rating", "averageRating"),
+    // No SQL column; the database fallback orders these by lifetime votes
+    TRENDING("trending", "voteCount"),
+    VOTES_WEEK("votes_week", "voteCount"),
+    VOTES_MONTH("votes_month", "voteCount");
+
+    private final String param;
+    private final String sqlField;
+
+    ServerSort(String param, String sqlField) {
+        this.param = param;
+        this.sqlField = sqlField;
+    }
+
+    /**
+     * Value of the {@code sort} request parameter.
+     */
+    public String param() {
+        return param;
+    }
+
+    /**
+     * Sort key understood by {@code ServerRepository.findWithFilters}.
+     */
+    public String sqlField() {
+        return sqlField;
+    }
+
+    /**
+     * Parses a {@code sort} request parameter, defaulting to votes.
+     */
+    public static ServerSort from(String sort) {
+        if (sort != null) {
+            String normalized = sort.trim().toLowerCase(Locale.ROOT);
+            for (ServerSort value : values()) {
+                if (value.param.equals(normalized)) {
+                    return value;
+                }
+            }
+        }
+        return VOTES;
+    }
+}
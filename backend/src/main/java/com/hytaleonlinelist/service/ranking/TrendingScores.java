@@ -0,0 +1,279 @@
+package com.hytaleonlinelist.service.ranking;
+
+import com.hytaleonlinelist.domain.entity.ServerTrendingScoreEntity;
+import com.hytaleonlinelist.domain.repository.ServerTrendingScoreRepository;
+import com.hytaleonlinelist.domain.repository.VoteRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Per-server trending score: votes, views and player growth with exponential decay
+ * (24h half-life, so activity older than ~72h has mostly faded).
+ *
+ * Events are added incrementally. Each accumulator holds its events scaled up to a shared
+ * landmark time, {@code sum(weight * 2^((t - landmark) / halfLife))}, so recording an
+ * event is a single add and all scores decay together without touching them.
+ *
+ * Each node only sees its own votes and views, so the accumulators hold this node's
+ * activity since its last checkpoint. A checkpoint adds them to the shared rows in
+ * {@code server_trending_scores} (decaying what is stored first) and reads the merged
+ * scores back as the baseline; a score is the decayed baseline plus the accumulator.
+ * Other nodes' activity therefore shows up within one checkpoint interval, and a node
+ * that restarts reloads everyone's.
+ */
+@Component
+public class TrendingScores {
+
+    private static final Logger log = LoggerFactory.getLogger(TrendingScores.class);
+
+    private static final double HALF_LIFE_MILLIS = Duration.ofHours(24).toMillis();
+    private static final double HALF_LIFE_SECONDS = HALF_LIFE_MILLIS / 1000;
+    private static final Duration SEED_WINDOW = Duration.ofHours(72);
+    private static final Duration CHECKPOINT_RETENTION = Duration.ofDays(7);
+    private static final double PRUNE_BELOW = 0.01;
+
+    private static final double VOTE_WEIGHT = 1.0;
+    private static final double VIEW_WEIGHT = 0.05;
+    private static final double PLAYER_GROWTH_WEIGHT = 0.2;
+
+    private final ServerTrendingScoreRepository scoreRepository;
+    private final VoteRepository voteRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    // Events take the read lock (they only add); rebasing takes the write lock
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, DoubleAdder> accumulators = new ConcurrentHashMap<>();
+    private volatile long landmark = System.currentTimeMillis();
+    private volatile Baseline baseline = new Baseline(Map.of(), System.currentTimeMillis());
+    private final Map<UUID, PlayerDebt> playerDebts = new ConcurrentHashMap<>();
+
+    public TrendingScores(
+            ServerTrendingScoreRepository scoreRepository,
+            VoteRepository voteRepository,
+            TransactionTemplate transactionTemplate) {
+        this.scoreRepository = scoreRepository;
+        this.voteRepository = voteRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    public void recordVote(UUID serverId) {
+        add(serverId, VOTE_WEIGHT, System.currentTimeMillis());
+    }
+
+    public void recordView(UUID serverId) {
+        add(serverId, VIEW_WEIGHT, System.currentTimeMillis());
+    }
+
+    /**
+     * Record a change in online players seen by a status poll. Losses are kept as a debt
+     * that decays like the scores and that later gains pay off first, so a player count
+     * that only oscillates earns nothing after its first rise.
+     */
+    public void recordPlayerChange(UUID serverId, int playerDelta) {
+        if (playerDelta == 0) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        double[] gained = new double[1];
+        playerDebts.compute(serverId, (id, debt) -> {
+            double owed = debt != null ? debt.players() * scale(debt.at() - now) : 0;
+            double net = playerDelta - owed;
+            if (net > 0) {
+                gained[0] = net;
+                return null;
+            }
+            return -net >= 0.5 ? new PlayerDebt(-net, now) : null;
+        });
+        if (gained[0] > 0) {
+            add(serverId, PLAYER_GROWTH_WEIGHT * gained[0], now);
+        }
+    }
+
+    /**
+     * Current decayed scores. Servers without recent activity are absent (score 0).
+     */
+    public Map<UUID, Double> scores() {
+        lock.readLock().lock();
+        try {
+            long now = System.currentTimeMillis();
+            Baseline base = baseline;
+            double baseDecay = scale(base.at() - now);
+            double decay = scale(landmark - now);
+            Map<UUID, Double> scores = new HashMap<>(base.scores().size() + accumulators.size());
+            base.scores().forEach((serverId, score) -> scores.put(serverId, score * baseDecay));
+            accumulators.forEach((serverId, accumulator) ->
+                    scores.merge(serverId, accumulator.sum() * decay, Double::sum));
+            return scores;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Restore checkpointed scores, or seed from recent votes if there are none yet.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        try {
+            List<ServerTrendingScoreEntity> checkpoints = scoreRepository.findAll();
+            if (!checkpoints.isEmpty()) {
+                baseline = toBaseline(checkpoints, System.currentTimeMillis());
+                log.info("Restored trending scores for {} servers", checkpoints.size());
+                return;
+            }
+
+            // Seeded votes count as this node's activity and are merged at the first checkpoint
+
+            Instant since = Instant.now().minus(SEED_WINDOW);
+            List<Object[]> votes = voteRepository.findVoteTimesSince(
+                    since, LocalDate.ofInstant(since, ZoneId.systemDefault()).minusDays(1));
+            for (Object[] row : votes) {
+                add((UUID) row[0], VOTE_WEIGHT, ((Instant) row[1]).toEpochMilli());
+            }
+            log.info("Seeded trending scores from {} recent votes", votes.size());
+        } catch (Exception e) {
+            log.error("Failed to load trending scores: {}", e.getMessage(), e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${trending.checkpoint-interval-ms:300000}")
+    public void checkpoint() {
+        try {
+            int servers = writeCheckpoint();
+            log.debug("Checkpointed trending scores for {} servers", servers);
+        } catch (Exception e) {
+            log.error("Failed to checkpoint trending scores: {}", e.getMessage(), e);
+        }
+    }
+
+    @PreDestroy
+    public void checkpointOnShutdown() {
+        try {
+            int servers = writeCheckpoint();
+            log.info("Checkpointed trending scores for {} servers on shutdown", servers);
+        } catch (Exception e) {
+            log.error("Failed to checkpoint trending scores on shutdown: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Merge this node's activity into the shared checkpoint and reload the merged scores.
+     * The merged activity is only taken out of the accumulators once the write committed,
+     * so a failed checkpoint keeps it for the next one.
+     */
+    private synchronized int writeCheckpoint() {
+        Instant now = Instant.now();
+        Map<UUID, Double> local = rebase(now.toEpochMilli());
+
+        UUID[] ids = local.keySet().toArray(new UUID[0]);
+        Double[] values = new Double[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            values[i] = local.get(ids[i]);
+        }
+
+        List<ServerTrendingScoreEntity> merged = transactionTemplate.execute(status -> {
+            if (ids.length > 0) {
+                scoreRepository.mergeAll(ids, values, now, HALF_LIFE_SECONDS);
+            }
+            scoreRepository.deleteScoredBefore(now.minus(CHECKPOINT_RETENTION));
+            return scoreRepository.findAll();
+        });
+
+        lock.writeLock().lock();
+        try {
+            // The landmark is still now: only checkpoints rebase, and they are serialized
+            local.forEach((serverId, score) -> {
+                DoubleAdder accumulator = accumulators.get(serverId);
+                if (accumulator != null) {
+                    accumulator.add(-score);
+                }
+            });
+            accumulators.values().removeIf(accumulator -> accumulator.sum() < PRUNE_BELOW);
+            baseline = toBaseline(merged, now.toEpochMilli());
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        long cutoff = now.toEpochMilli() - CHECKPOINT_RETENTION.toMillis();
+        playerDebts.values().removeIf(debt -> debt.at() < cutoff);
+        return ids.length;
+    }
+
+    private Baseline toBaseline(List<ServerTrendingScoreEntity> checkpoints, long now) {
+        Map<UUID, Double> scores = new HashMap<>(checkpoints.size());
+        for (ServerTrendingScoreEntity checkpoint : checkpoints) {
+            double score = checkpoint.getScore() * scale(checkpoint.getScoredAt().toEpochMilli() - now);
+            if (score >= PRUNE_BELOW) {
+                scores.put(checkpoint.getServerId(), score);
+            }
+        }
+        return new Baseline(Map.copyOf(scores), now);
+    }
+
+    /**
+     * Move the landmark to {@code now}, rescaling (and pruning) every accumulator.
+     * Afterwards each accumulator holds exactly its decayed score.
+     */
+    private Map<UUID, Double> rebase(long now) {
+        lock.writeLock().lock();
+        try {
+            double factor = scale(landmark - now);
+            Map<UUID, Double> scores = new HashMap<>(accumulators.size());
+            accumulators.replaceAll((serverId, accumulator) -> {
+                double score = accumulator.sum() * factor;
+                DoubleAdder rebased = new DoubleAdder();
+                rebased.add(score);
+                return rebased;
+            });
+            accumulators.entrySet().removeIf(entry -> entry.getValue().sum() < PRUNE_BELOW);
+            accumulators.forEach((serverId, accumulator) -> scores.put(serverId, accumulator.sum()));
+            landmark = now;
+            return scores;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void add(UUID serverId, double weight, long at) {
+        lock.readLock().lock();
+        try {
+            accumulators.computeIfAbsent(serverId, id -> new DoubleAdder())
+                    .add(weight * scale(at - landmark));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static double scale(long millis) {
+        return Math.pow(2, millis / HALF_LIFE_MILLIS);
+    }
+
+    /**
+     * Merged scores of all nodes as of {@code at}.
+     */
+    private record Baseline(Map<UUID, Double> scores, long at) {}
+
+    /**
+     * Players lost since the last credited gain, as of {@code at}.
+     */
+    private record PlayerDebt(double players, long at) {}
+}
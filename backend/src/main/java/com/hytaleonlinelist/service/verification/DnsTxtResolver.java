@@ -0,0 +1,346 @@
+package com.hytaleonlinelist.service.verification;
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.IDN;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Predicate;
+
+/**
+ * Minimal DNS client for TXT lookups, used by {@link DnsTxtVerifier}.
+ *
+ * Queries go to the configured recursive resolvers (or those in /etc/resolv.conf) over
+ * UDP with EDNS0, and are retried over TCP when the answer is truncated. Each lookup
+ * runs on its own virtual thread, so several names can be resolved in parallel.
+ *
+ * Answers are cached for their TTL (capped), and a missing name or record for a short
+ * negative TTL so a user re-clicking "Verify" right after adding the record is not
+ * kept waiting long. An answer without the record the caller is looking for (e.g. a
+ * root domain that only has SPF) is treated like a missing record and re-queried once
+ * it is older than the negative TTL. Failed lookups are not cached.
+ */
+@Component
+public class DnsTxtResolver {
+
+    private static final Logger logger = LoggerFactory.getLogger(DnsTxtResolver.class);
+
+    private static final int DNS_PORT = 53;
+    private static final int TYPE_TXT = 16;
+    private static final int TYPE_OPT = 41;
+    private static final int CLASS_IN = 1;
+    private static final int RCODE_NXDOMAIN = 3;
+    private static final int EDNS_UDP_SIZE = 1232;
+    private static final List<InetAddress> FALLBACK_NAMESERVERS = List.of(
+            InetAddress.ofLiteral("1.1.1.1"), InetAddress.ofLiteral("8.8.8.8"));
+
+    private final List<InetAddress> nameservers;
+    private final int timeoutMillis;
+    private final Duration maxTtl;
+    private final Duration negativeTtl;
+    private final SecureRandom random = new SecureRandom();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final AsyncLoadingCache<String, TxtLookup> cache;
+
+    public DnsTxtResolver(
+            @Value("${verification.dns.nameservers:}") List<String> nameservers,
+            @Value("${verification.dns.timeout:2s}") Duration timeout,
+            @Value("${verification.dns.max-ttl:5m}") Duration maxTtl,
+            @Value("${verification.dns.negative-ttl:15s}") Duration negativeTtl) {
+        this.nameservers = nameservers.isEmpty() ? systemNameservers() : parseAddresses(nameservers);
+        this.timeoutMillis = (int) timeout.toMillis();
+        this.maxTtl = maxTtl;
+        this.negativeTtl = negativeTtl;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfter(Expiry.creating((String name, TxtLookup lookup) -> lookup.ttl()))
+                .executor(executor)
+                .buildAsync(this::query);
+
+        logger.info("DNS TXT resolver using nameservers {}", this.nameservers);
+    }
+
+    /**
+     * TXT records of a name, each with its character-strings joined.
+     * Completes with an empty list if the name or record does not exist, and
+     * exceptionally if no nameserver answered.
+     *
+     * A cached answer is reused for its full TTL only if one of its records
+     * {@code matches}; otherwise only for the negative TTL.
+     */
+    public CompletableFuture<List<String>> resolveTxt(String name, Predicate<String> matches) {
+        String key = normalize(name);
+        CompletableFuture<TxtLookup> cached = cache.get(key);
+        return cached.thenCompose(lookup -> {
+            if (lookup.values().stream().anyMatch(matches)
+                    || System.nanoTime() - lookup.loadedAt() < negativeTtl.toNanos()) {
+                return CompletableFuture.completedFuture(lookup.values());
+            }
+            cache.asMap().remove(key, cached);
+            return cache.get(key).thenApply(TxtLookup::values);
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private TxtLookup query(String name) throws IOException {
+        byte[] question = encodeQuestion(name);
+        IOException lastError = null;
+
+        for (InetAddress nameserver : nameservers) {
+            try {
+                return parseResponse(exchange(nameserver, question));
+            } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+                logger.debug("Malformed TXT response for {} from {}", name, nameserver.getHostAddress());
+                lastError = new IOException("Malformed DNS response", e);
+            } catch (IOException e) {
+                logger.debug("TXT lookup of {} via {} failed: {}", name, nameserver.getHostAddress(), e.getMessage());
+                lastError = e;
+            }
+        }
+        throw lastError != null ? lastError : new IOException("No nameservers configured");
+    }
+
+    /**
+     * One query to one nameserver: UDP first, then TCP if the answer was truncated.
+     */
+    private byte[] exchange(InetAddress nameserver, byte[] question) throws IOException {
+        short id = (short) random.nextInt();
+        byte[] query = withId(question, id);
+
+        byte[] response = exchangeUdp(nameserver, query, id);
+        if ((response[2] & 0x02) != 0) {
+            response = exchangeTcp(nameserver, query, id);
+        }
+        return response;
+    }
+
+    private byte[] exchangeUdp(InetAddress nameserver, byte[] query, short id) throws IOException {
+        try (DatagramSocket socket = new DatagramSocket()) {
+            socket.setSoTimeout(timeoutMillis);
+            socket.connect(nameserver, DNS_PORT);
+            socket.send(new DatagramPacket(query, query.length));
+
+            byte[] buffer = new byte[EDNS_UDP_SIZE];
+            while (true) {
+                DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+                socket.receive(packet);
+                // Ignore stray datagrams that do not answer this query
+                if (packet.getLength() >= 12 && idOf(buffer) == id) {
+                    return Arrays.copyOf(buffer, packet.getLength());
+                }
+            }
+        }
+    }
+
+    private byte[] exchangeTcp(InetAddress nameserver, byte[] query, short id) throws IOException {
+        try (Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress(nameserver, DNS_PORT), timeoutMillis);
+            socket.setSoTimeout(timeoutMillis);
+
+            DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+            out.writeShort(query.length);
+            out.write(query);
+            out.flush();
+
+            DataInputStream in = new DataInputStream(socket.getInputStream());
+            byte[] response = new byte[in.readUnsignedShort()];
+            in.readFully(response);
+            if (response.length < 12 || idOf(response) != id) {
+                throw new IOException("Mismatched DNS response over TCP");
+            }
+            return response;
+        }
+    }
+
+    private TxtLookup parseResponse(byte[] response) throws IOException {
+        ByteBuffer buf = ByteBuffer.wrap(response);
+        buf.getShort(); // id
+        int flags = buf.getShort() & 0xFFFF;
+        int questions = buf.getShort() & 0xFFFF;
+        int answers = buf.getShort() & 0xFFFF;
+        buf.getShort(); // authority
+        buf.getShort(); // additional
+
+        int rcode = flags & 0x0F;
+        if (rcode == RCODE_NXDOMAIN) {
+            return new TxtLookup(List.of(), negativeTtl, System.nanoTime());
+        }
+        if (rcode != 0) {
+            // SERVFAIL, REFUSED, ...: let the next nameserver try
+            throw new IOException("DNS error rcode " + rcode);
+        }
+
+        for (int i = 0; i < questions; i++) {
+            skipName(buf);
+            buf.position(buf.position() + 4);
+        }
+
+        List<String> values = new ArrayList<>();
+        long minTtl = Long.MAX_VALUE;
+        for (int i = 0; i < answers; i++) {
+            skipName(buf);
+            int type = buf.getShort() & 0xFFFF;
+            buf.getShort(); // class
+            long ttl = buf.getInt() & 0xFFFFFFFFL;
+            int length = buf.getShort() & 0xFFFF;
+            int end = buf.position() + length;
+
+            // CNAMEs in the chain are skipped; the resolver already followed them
+            if (type == TYPE_TXT) {
+                values.add(readCharacterStrings(buf, end));
+                minTtl = Math.min(minTtl, ttl);
+            }
+            buf.position(end);
+        }
+
+        if (values.isEmpty()) {
+            return new TxtLookup(List.of(), negativeTtl, System.nanoTime());
+        }
+        Duration ttl = Duration.ofSeconds(minTtl);
+        return new TxtLookup(List.copyOf(values), ttl.compareTo(maxTtl) < 0 ? ttl : maxTtl, System.nanoTime());
+    }
+
+    /**
+     * Joins the character-strings of one TXT record, as long values are split into
+     * 255-byte chunks.
+     */
+    private static String readCharacterStrings(ByteBuffer buf, int end) {
+        ByteArrayOutputStream value = new ByteArrayOutputStream();
+        while (buf.position() < end) {
+            int length = buf.get() & 0xFF;
+            value.write(buf.array(), buf.position(), length);
+            buf.position(buf.position() + length);
+        }
+        return value.toString(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Skips a possibly compressed domain name.
+     */
+    private static void skipName(ByteBuffer buf) {
+        while (true) {
+            int length = buf.get() & 0xFF;
+            if (length == 0) {
+                return;
+            }
+            if ((length & 0xC0) == 0xC0) {
+                // Compression pointer: second byte, and the name ends here
+                buf.get();
+                return;
+            }
+            buf.position(buf.position() + length);
+        }
+    }
+
+    /**
+     * Header (with a zero id), the TXT question and an EDNS0 OPT record advertising
+     * a larger UDP payload so most answers avoid the TCP retry.
+     */
+    private static byte[] encodeQuestion(String name) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeShort(0);       // id, set per query
+        out.writeShort(0x0100);  // recursion desired
+        out.writeShort(1);       // questions
+        out.writeShort(0);       // answers
+        out.writeShort(0);       // authority
+        out.writeShort(1);       // additional (OPT)
+
+        for (String label : name.split("\\.")) {
+            byte[] encoded = label.getBytes(StandardCharsets.US_ASCII);
+            if (encoded.length == 0 || encoded.length > 63) {
+                throw new IOException("Invalid domain name: " + name);
+            }
+            out.writeByte(encoded.length);
+            out.write(encoded);
+        }
+        out.writeByte(0);
+        out.writeShort(TYPE_TXT);
+        out.writeShort(CLASS_IN);
+
+        out.writeByte(0);        // root name
+        out.writeShort(TYPE_OPT);
+        out.writeShort(EDNS_UDP_SIZE);
+        out.writeInt(0);         // extended rcode, version, flags
+        out.writeShort(0);       // no options
+        return bytes.toByteArray();
+    }
+
+    private static byte[] withId(byte[] question, short id) {
+        byte[] query = question.clone();
+        query[0] = (byte) (id >> 8);
+        query[1] = (byte) id;
+        return query;
+    }
+
+    private static short idOf(byte[] message) {
+        return (short) (((message[0] & 0xFF) << 8) | (message[1] & 0xFF));
+    }
+
+    private static String normalize(String name) {
+        String ascii = IDN.toASCII(name.trim(), IDN.ALLOW_UNASSIGNED).toLowerCase();
+        return ascii.endsWith(".") ? ascii.substring(0, ascii.length() - 1) : ascii;
+    }
+
+    private static List<InetAddress> parseAddresses(List<String> addresses) {
+        return addresses.stream()
+                .map(String::trim)
+                .filter(address -> !address.isEmpty())
+                .map(InetAddress::ofLiteral)
+                .toList();
+    }
+
+    /**
+     * Nameservers from /etc/resolv.conf, or public resolvers if there are none.
+     */
+    private static List<InetAddress> systemNameservers() {
+        try {
+            List<String> addresses = Files.readAllLines(Path.of("/etc/resolv.conf")).stream()
+                    .map(String::trim)
+                    .filter(line -> line.startsWith("nameserver"))
+                    .map(line -> line.substring("nameserver".length()).trim())
+                    .map(address -> address.contains("%") ? address.substring(0, address.indexOf('%')) : address)
+                    .toList();
+            List<InetAddress> parsed = parseAddresses(addresses);
+            if (!parsed.isEmpty()) {
+                return parsed;
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            logger.warn("Could not read nameservers from /etc/resolv.conf: {}", e.getMessage());
+        }
+        return FALLBACK_NAMESERVERS;
+    }
+
+    private record TxtLookup(List<String> values, Duration ttl, long loadedAt) {}
+}
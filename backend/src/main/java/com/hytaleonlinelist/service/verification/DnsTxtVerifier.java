@@ -6,18 +6,16 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
-import javax.naming.NamingEnumeration;
-import javax.naming.NamingException;
-import javax.naming.directory.Attribute;
-import javax.naming.directory.Attributes;
-import javax.naming.directory.DirContext;
-import javax.naming.directory.InitialDirContext;
-import java.util.Hashtable;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Predicate;
 import java.util.regex.Pattern;
 
 /**
  * Verifies server ownership by checking for a DNS TXT record
  * containing the verification token.
+ * Lookups go through {@link DnsTxtResolver} rather than JNDI.
  */
 @Component
 public class DnsTxtVerifier implements ServerVerifier {
@@ -29,6 +27,12 @@ public class DnsTxtVerifier implements ServerVerifier {
         "^((25[0-5]|(2[0-4]|1\\d|[1-9]|)\\d)\\.?\\b){4}$"
     );
 
+    private final DnsTxtResolver dnsResolver;
+
+    public DnsTxtVerifier(DnsTxtResolver dnsResolver) {
+        this.dnsResolver = dnsResolver;
+    }
+
     @Override
     public VerificationMethod getMethod() {
         return VerificationMethod.DNS_TXT;
@@ -79,35 +83,40 @@ public class DnsTxtVerifier implements ServerVerifier {
         logger.info("Attempting DNS TXT verification for server {} (domain: {}) with token {}",
                 server.getId(), domain, token);
 
-        try {
-            // First, try looking for _hol-verify subdomain
-            String subdomainRecord = "_hol-verify." + domain;
-            if (checkTxtRecord(subdomainRecord, token)) {
-                logger.info("DNS TXT verification successful for server {} via subdomain record",
-                        server.getId());
-                return new VerificationResult(true,
-                        "Verification successful! Your domain ownership has been confirmed.");
-            }
-
-            // Then try the root domain with hol-verify= prefix
-            if (checkTxtRecordWithPrefix(domain, "hol-verify=" + token)) {
-                logger.info("DNS TXT verification successful for server {} via root domain record",
-                        server.getId());
-                return new VerificationResult(true,
-                        "Verification successful! Your domain ownership has been confirmed.");
-            }
+        Predicate<String> subdomainMatch = value -> value.trim().equals(token);
+        String prefixed = "hol-verify=" + token;
+        Predicate<String> rootMatch = value -> value.trim().contains(prefixed);
+
+        // Look up the _hol-verify subdomain and the root domain at the same time
+        CompletableFuture<List<String>> subdomainRecords =
+                dnsResolver.resolveTxt("_hol-verify." + domain, subdomainMatch);
+        CompletableFuture<List<String>> rootRecords = dnsResolver.resolveTxt(domain, rootMatch);
+
+        LookupOutcome subdomain = await(subdomainRecords, "_hol-verify." + domain, subdomainMatch);
+        if (subdomain == LookupOutcome.FOUND) {
+            logger.info("DNS TXT verification successful for server {} via subdomain record",
+                    server.getId());
+            return new VerificationResult(true,
+                    "Verification successful! Your domain ownership has been confirmed.");
+        }
 
-            logger.info("DNS TXT verification failed for server {} - record not found", server.getId());
-            return new VerificationResult(false,
-                    "DNS TXT record not found. Please ensure you've added the TXT record and " +
-                    "waited for DNS propagation (this can take up to 48 hours).");
+        LookupOutcome root = await(rootRecords, domain, rootMatch);
+        if (root == LookupOutcome.FOUND) {
+            logger.info("DNS TXT verification successful for server {} via root domain record",
+                    server.getId());
+            return new VerificationResult(true,
+                    "Verification successful! Your domain ownership has been confirmed.");
+        }
 
-        } catch (Exception e) {
-            logger.error("Error during DNS TXT verification for server {}: {}",
-                    server.getId(), e.getMessage());
+        if (subdomain == LookupOutcome.FAILED && root == LookupOutcome.FAILED) {
             return new VerificationResult(false,
                     "An error occurred while checking DNS records. Please try again later.");
         }
+
+        logger.info("DNS TXT verification failed for server {} - record not found", server.getId());
+        return new VerificationResult(false,
+                "DNS TXT record not found. Please ensure you've added the TXT record and " +
+                "waited for DNS propagation (this can take up to 48 hours).");
     }
 
     /**
@@ -123,65 +132,23 @@ public class DnsTxtVerifier implements ServerVerifier {
         return address.toLowerCase();
     }
 
-    /**
-     * Check if a DNS TXT record exists with the exact token value.
-     */
-    private boolean checkTxtRecord(String domain, String expectedValue) {
-        try {
-            Hashtable<String, String> env = new Hashtable<>();
-            env.put("java.naming.factory.initial", "com.sun.jndi.dns.DnsContextFactory");
-
-            DirContext ctx = new InitialDirContext(env);
-            Attributes attrs = ctx.getAttributes(domain, new String[]{"TXT"});
-            Attribute txtAttr = attrs.get("TXT");
-
-            if (txtAttr != null) {
-                NamingEnumeration<?> values = txtAttr.getAll();
-                while (values.hasMore()) {
-                    String value = values.next().toString();
-                    // Remove quotes if present
-                    value = value.replaceAll("^\"|\"$", "");
-                    if (value.equals(expectedValue)) {
-                        ctx.close();
-                        return true;
-                    }
-                }
-            }
-            ctx.close();
-        } catch (NamingException e) {
-            logger.debug("DNS lookup failed for {}: {}", domain, e.getMessage());
-        }
-        return false;
-    }
+    private enum LookupOutcome { FOUND, NOT_FOUND, FAILED }
 
     /**
-     * Check if a DNS TXT record exists that contains the expected prefix value.
+     * Wait for a TXT lookup and check whether any record matches.
      */
-    private boolean checkTxtRecordWithPrefix(String domain, String expectedValue) {
+    private LookupOutcome await(CompletableFuture<List<String>> records, String name, Predicate<String> matches) {
         try {
-            Hashtable<String, String> env = new Hashtable<>();
-            env.put("java.naming.factory.initial", "com.sun.jndi.dns.DnsContextFactory");
-
-            DirContext ctx = new InitialDirContext(env);
-            Attributes attrs = ctx.getAttributes(domain, new String[]{"TXT"});
-            Attribute txtAttr = attrs.get("TXT");
-
-            if (txtAttr != null) {
-                NamingEnumeration<?> values = txtAttr.getAll();
-                while (values.hasMore()) {
-                    String value = values.next().toString();
-                    // Remove quotes if present
-                    value = value.replaceAll("^\"|\"$", "");
-                    if (value.equals(expectedValue) || value.contains(expectedValue)) {
-                        ctx.close();
-                        return true;
-                    }
+            for (String value : records.join()) {
+                if (matches.test(value)) {
+                    return LookupOutcome.FOUND;
                 }
             }
-            ctx.close();
-        } catch (NamingException e) {
-            logger.debug("DNS lookup failed for {}: {}", domain, e.getMessage());
+            return LookupOutcome.NOT_FOUND;
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            logger.warn("DNS lookup failed for {}: {}", name, cause.getMessage());
+            return LookupOutcome.FAILED;
         }
-        return false;
     }
 }
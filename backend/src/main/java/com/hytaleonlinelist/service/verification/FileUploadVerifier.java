@@ -1,20 +1,36 @@
 package com.hytaleonlinelist.service.verification;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.hytaleonlinelist.domain.entity.ServerEntity;
 import com.hytaleonlinelist.domain.entity.VerificationMethod;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
+import java.io.ByteArrayOutputStream;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Verifies server ownership by checking for a verification file
  * uploaded to the server's website.
+ *
+ * The file is streamed and at most {@link #MAX_BODY_BYTES} are kept, whatever the
+ * remote server sends; one deadline covers connecting, redirects and the body.
+ * Hosts that could not be reached are remembered briefly so repeated clicks
+ * do not pile up connections to a dead site.
  */
 @Component
 public class FileUploadVerifier implements ServerVerifier {
@@ -22,13 +38,23 @@ public class FileUploadVerifier implements ServerVerifier {
     private static final Logger logger = LoggerFactory.getLogger(FileUploadVerifier.class);
 
     private static final String VERIFICATION_FILE_NAME = "hol-verify.txt";
-    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(5);
+    private static final Duration DEADLINE = Duration.ofSeconds(10);
+    // The file should hold only the code, so anything bigger cannot match anyway
+    private static final int MAX_BODY_BYTES = 1024;
+    private static final Duration UNREACHABLE_HOST_TTL = Duration.ofSeconds(15);
 
     private final HttpClient httpClient;
+    private final Cache<String, String> unreachableHosts = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterWrite(UNREACHABLE_HOST_TTL)
+            .build();
 
     public FileUploadVerifier() {
+        // One client for all verifications: connections (and HTTP/2 sessions) are pooled
         this.httpClient = HttpClient.newBuilder()
-                .connectTimeout(TIMEOUT)
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(CONNECT_TIMEOUT)
                 .followRedirects(HttpClient.Redirect.NORMAL)
                 .build();
     }
@@ -77,16 +103,32 @@ public class FileUploadVerifier implements ServerVerifier {
         logger.info("Attempting file upload verification for server {} at URL: {}",
                 server.getId(), verificationUrl);
 
+        URI uri;
+        try {
+            uri = URI.create(verificationUrl);
+        } catch (IllegalArgumentException e) {
+            return new VerificationResult(false,
+                    "Your website URL is not valid. Please update it and try again.");
+        }
+
+        String host = uri.getHost() != null ? uri.getHost().toLowerCase() : "";
+        String unreachable = unreachableHosts.getIfPresent(host);
+        if (unreachable != null) {
+            logger.info("File upload verification for server {} skipped - {} recently unreachable: {}",
+                    server.getId(), host, unreachable);
+            return new VerificationResult(false,
+                    "Could not access your website. Please ensure it's accessible and try again in a moment.");
+        }
+
         try {
             HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(verificationUrl))
-                    .timeout(TIMEOUT)
+                    .uri(uri)
+                    .timeout(DEADLINE)
                     .GET()
                     .header("User-Agent", "HytaleOnlineList-Verifier/1.0")
                     .build();
 
-            HttpResponse<String> response = httpClient.send(request,
-                    HttpResponse.BodyHandlers.ofString());
+            HttpResponse<BoundedBody> response = fetch(request);
 
             if (response.statusCode() == 404) {
                 logger.info("File upload verification failed for server {} - file not found (404)",
@@ -103,7 +145,16 @@ public class FileUploadVerifier implements ServerVerifier {
                         "Could not access verification file. HTTP status: " + response.statusCode());
             }
 
-            String content = response.body().trim();
+            BoundedBody body = response.body();
+            if (body.truncated()) {
+                logger.info("File upload verification failed for server {} - file larger than {} bytes",
+                        server.getId(), MAX_BODY_BYTES);
+                return new VerificationResult(false,
+                        "Verification file found but content doesn't match. " +
+                        "Please ensure the file contains only the verification code.");
+            }
+
+            String content = body.text().trim();
 
             // Check if the file contains the exact token
             if (content.equals(token)) {
@@ -127,6 +178,7 @@ public class FileUploadVerifier implements ServerVerifier {
                     "Please ensure the file contains only the verification code.");
 
         } catch (Exception e) {
+            unreachableHosts.put(host, String.valueOf(e.getMessage()));
             logger.error("Error during file upload verification for server {}: {}",
                     server.getId(), e.getMessage());
             return new VerificationResult(false,
@@ -146,4 +198,89 @@ public class FileUploadVerifier implements ServerVerifier {
         }
         return url;
     }
+
+    /**
+     * Send the request with one deadline for the whole exchange, redirects and body
+     * included. On timeout the exchange is cancelled and its connection released.
+     */
+    private HttpResponse<BoundedBody> fetch(HttpRequest request) throws Exception {
+        CompletableFuture<HttpResponse<BoundedBody>> exchange = httpClient.sendAsync(request,
+                info -> new BoundedBodySubscriber(info.statusCode() == 200 ? MAX_BODY_BYTES : 0));
+        try {
+            return exchange.get(DEADLINE.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            exchange.cancel(true);
+            throw new TimeoutException("No complete response within " + DEADLINE.toSeconds() + "s");
+        } catch (InterruptedException e) {
+            exchange.cancel(true);
+            Thread.currentThread().interrupt();
+            throw e;
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        }
+    }
+
+    /**
+     * The first bytes of a response body, and whether there was more.
+     */
+    private record BoundedBody(byte[] bytes, boolean truncated) {
+
+        String text() {
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Keeps at most {@code limit} bytes of a body. Once the limit is exceeded the
+     * subscription is cancelled, so the rest is never read off the connection.
+     */
+    private static final class BoundedBodySubscriber implements HttpResponse.BodySubscriber<BoundedBody> {
+
+        private final int limit;
+        private final ByteArrayOutputStream bytes;
+        private final CompletableFuture<BoundedBody> body = new CompletableFuture<>();
+        private Flow.Subscription subscription;
+
+        BoundedBodySubscriber(int limit) {
+            this.limit = limit;
+            this.bytes = new ByteArrayOutputStream(Math.min(limit, 256));
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(1);
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> buffers) {
+            for (ByteBuffer buffer : buffers) {
+                int take = Math.min(buffer.remaining(), limit - bytes.size());
+                byte[] chunk = new byte[take];
+                buffer.get(chunk);
+                bytes.writeBytes(chunk);
+                if (buffer.hasRemaining()) {
+                    subscription.cancel();
+                    body.complete(new BoundedBody(bytes.toByteArray(), true));
+                    return;
+                }
+            }
+            subscription.request(1);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            body.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            body.complete(new BoundedBody(bytes.toByteArray(), false));
+        }
+
+        @Override
+        public CompletableFuture<BoundedBody> getBody() {
+            return body;
+        }
+    }
 }
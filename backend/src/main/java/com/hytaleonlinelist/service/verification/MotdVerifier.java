@@ -3,24 +3,35 @@ package com.hytaleonlinelist.service.verification;
 import com.hytaleonlinelist.domain.entity.ServerEntity;
 import com.hytaleonlinelist.domain.entity.VerificationMethod;
 import com.hytaleonlinelist.service.query.QueryResult;
-import com.hytaleonlinelist.service.query.ServerQueryService;
+import com.hytaleonlinelist.service.query.ServerQuerySnapshots;
+import com.hytaleonlinelist.service.query.ServerQuerySnapshots.Snapshot;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+
 /**
  * Verifies server ownership by checking if the verification token
  * appears in the server's MOTD (Message of the Day).
+ *
+ * The status poller's latest MOTD is checked first; the server is only probed
+ * again when that snapshot is too old or does not contain the code yet.
  */
 @Component
 public class MotdVerifier implements ServerVerifier {
 
     private static final Logger logger = LoggerFactory.getLogger(MotdVerifier.class);
 
-    private final ServerQueryService queryService;
+    private final ServerQuerySnapshots querySnapshots;
+    private final Duration snapshotMaxAge;
 
-    public MotdVerifier(ServerQueryService queryService) {
-        this.queryService = queryService;
+    public MotdVerifier(
+            ServerQuerySnapshots querySnapshots,
+            @Value("${verification.motd.snapshot-max-age:5m}") Duration snapshotMaxAge) {
+        this.querySnapshots = querySnapshots;
+        this.snapshotMaxAge = snapshotMaxAge;
     }
 
     @Override
@@ -60,9 +71,19 @@ public class MotdVerifier implements ServerVerifier {
         logger.info("Attempting MOTD verification for server {} with token {}",
                 server.getId(), token);
 
+        // The code is new, so a recent poll that already shows it is proof enough
+        Snapshot snapshot = querySnapshots.get(server.getId()).orElse(null);
+        if (snapshot != null && snapshot.isFresherThan(snapshotMaxAge)
+                && containsCode(snapshot.motd(), snapshot.serverName(), expectedCode)) {
+            logger.info("MOTD verification successful for server {} (from status poll at {})",
+                    server.getId(), snapshot.queriedAt());
+            return new VerificationResult(true,
+                    "Verification successful! Your server ownership has been confirmed.");
+        }
+
         try {
             // Query the server to get current MOTD/description
-            QueryResult result = queryService.queryServer(server);
+            QueryResult result = querySnapshots.probe(server);
 
             if (!result.online()) {
                 logger.warn("Failed to query server {} for MOTD verification: {}",
@@ -100,4 +121,9 @@ public class MotdVerifier implements ServerVerifier {
                     "An error occurred while verifying. Please try again later.");
         }
     }
+
+    private static boolean containsCode(String motd, String serverName, String expectedCode) {
+        return (motd != null && motd.contains(expectedCode))
+                || (serverName != null && serverName.contains(expectedCode));
+    }
 }
@@ -0,0 +1,124 @@
+package com.hytaleonlinelist.util;
+
+import com.hytaleonlinelist.service.cache.JsonBody;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Utility class for writing pre-serialized JSON bodies and conditional GET responses.
+ * The bytes go straight to the servlet output stream via the byte array converter.
+ */
+public final class JsonResponses {
+
+    private JsonResponses() {
+        // Utility class - prevent instantiation
+    }
+
+    /**
+     * Strong ETag (quoted) for a version-derived tag. The gzip variant is a different
+     * representation and gets its own suffix.
+     *
+     * @param tag            validator built from data versions
+     * @param acceptEncoding the request's Accept-Encoding header (may be null)
+     * @return the ETag for the representation that will be served
+     */
+    public static String etag(String tag, String acceptEncoding) {
+        return acceptsGzip(acceptEncoding) ? "\"" + tag + "-gz\"" : "\"" + tag + "\"";
+    }
+
+    /**
+     * Weak ETag for a body that also carries data the tag does not version (e.g. a
+     * buffered counter), so equal tags only promise an equivalent representation.
+     *
+     * @param tag            validator built from data versions
+     * @param acceptEncoding the request's Accept-Encoding header (may be null)
+     * @return the weak ETag for the representation that will be served
+     */
+    public static String weakEtag(String tag, String acceptEncoding) {
+        return "W/" + etag(tag, acceptEncoding);
+    }
+
+    /**
+     * Builds a 200 response for a serialized body, using the pre-gzipped variant
+     * when the client accepts gzip.
+     *
+     * @param body           the serialized JSON body
+     * @param etag           ETag from {@link #etag(String, String)} for the same Accept-Encoding
+     * @param lastModified   time the underlying data last changed in epoch millis, or -1 if unknown
+     * @param acceptEncoding the request's Accept-Encoding header (may be null)
+     * @param cacheControl   the endpoint's Cache-Control policy
+     * @return the response entity
+     */
+    public static ResponseEntity<byte[]> ok(
+            JsonBody body, String etag, long lastModified, String acceptEncoding, CacheControl cacheControl) {
+        boolean gzipped = acceptsGzip(acceptEncoding);
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .eTag(etag)
+                .cacheControl(cacheControl);
+        if (lastModified >= 0) {
+            builder.lastModified(lastModified);
+        }
+
+        if (gzipped) {
+            return builder
+                    .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .body(body.gzip());
+        }
+        return builder.body(body.json());
+    }
+
+    /**
+     * Checks the request's validators against version-derived ones before any work is done.
+     * When they match, the 304 status and validators are already written and the returned
+     * entity only adds Cache-Control; otherwise returns null and the caller builds the body.
+     *
+     * @param request      the current request
+     * @param etag         ETag derived from data versions
+     * @param lastModified last modification time in epoch millis, or -1 if unknown
+     * @param cacheControl the endpoint's Cache-Control policy
+     * @return a 304 response, or null if the client's copy is stale
+     */
+    public static <T> ResponseEntity<T> notModified(
+            WebRequest request, String etag, long lastModified, CacheControl cacheControl) {
+        if (request.checkNotModified(etag, lastModified)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .cacheControl(cacheControl)
+                    .build();
+        }
+        return null;
+    }
+
+    /**
+     * Checks whether an Accept-Encoding header allows gzip (ignores explicit q=0).
+     */
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return false;
+        }
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.trim().split(";");
+            String coding = tokens[0].trim();
+            if (!coding.equalsIgnoreCase("gzip") && !coding.equals("*")) {
+                continue;
+            }
+            boolean disabled = false;
+            for (int i = 1; i < tokens.length; i++) {
+                String param = tokens[i].trim().replace(" ", "");
+                if (param.matches("q=0(\\.0*)?")) {
+                    disabled = true;
+                }
+            }
+            if (!disabled) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,41 @@
+package com.hytaleonlinelist.util;
+
+import com.hytaleonlinelist.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque cursor for keyset pagination over (created_at, id), newest first.
+ * Encoded as URL-safe base64 so clients treat it as a token.
+ */
+public record KeysetCursor(Instant createdAt, UUID id) {
+
+    /**
+     * Encodes this position as a cursor string.
+     */
+    public String encode() {
+        String raw = createdAt.toString() + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor string produced by {@link #encode()}.
+     *
+     * @throws BadRequestException if the cursor is malformed
+     */
+    public static KeysetCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            return new KeysetCursor(
+                    Instant.parse(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1))
+            );
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
@@ -15,7 +15,9 @@ public final class RequestUtils {
 
     /**
      * Extracts the client IP address from the request.
-     * Handles proxied requests by checking X-Forwarded-For and X-Real-IP headers.
+     * Forwarding headers are resolved by the servlet container, which only trusts
+     * X-Forwarded-For entries added by known proxies (see {@code server.tomcat.remoteip}),
+     * so a client cannot choose its own address by sending the header itself.
      *
      * @param request the HTTP request
      * @return the client IP address
@@ -24,22 +26,6 @@ public final class RequestUtils {
         if (request == null) {
             return null;
         }
-
-        // Check X-Forwarded-For header (standard for proxies/load balancers)
-        String xForwardedFor = request.getHeader("X-Forwarded-For");
-        if (xForwardedFor != null && !xForwardedFor.isBlank()) {
-            // X-Forwarded-For can contain multiple IPs (client, proxy1, proxy2...)
-            // Take the first one which is the original client
-            return xForwardedFor.split(",")[0].trim();
-        }
-
-        // Check X-Real-IP header (used by some proxies like nginx)
-        String xRealIp = request.getHeader("X-Real-IP");
-        if (xRealIp != null && !xRealIp.isBlank()) {
-            return xRealIp.trim();
-        }
-
-        // Fallback to remote address
         return request.getRemoteAddr();
     }
 
@@ -0,0 +1,137 @@
+package com.hytaleonlinelist.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hierarchical timer wheel: three levels of 64 slots, so with one-second ticks it covers
+ * about 64 s, 68 min and 73 h before timers are parked in the farthest slot and re-filed.
+ *
+ * Scheduling and cancelling are O(1). {@link #advance} fires the level-0 slot of every
+ * elapsed tick and, each time a lower level wraps, re-files the next slot of the level
+ * above. Cancelled or rescheduled timers are dropped lazily when their slot comes up.
+ *
+ * Not thread-safe on its own; callers synchronize.
+ *
+ * @param <K> timer key, e.g. an entity id
+ */
+public final class TimerWheel<K> {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 3;
+
+    private final long tickMillis;
+    private final List<List<Timer<K>>> slots = new ArrayList<>(LEVELS * SLOTS);
+    private final Map<K, Timer<K>> timers = new HashMap<>();
+    private final List<Timer<K>> overdue = new ArrayList<>();
+    private long currentTick;
+
+    public TimerWheel(long tickMillis, long nowMillis) {
+        this.tickMillis = tickMillis;
+        this.currentTick = Math.floorDiv(nowMillis, tickMillis);
+        for (int i = 0; i < LEVELS * SLOTS; i++) {
+            slots.add(new ArrayList<>());
+        }
+    }
+
+    /**
+     * Schedule (or reschedule) a key to fire once {@code deadlineMillis} has passed.
+     */
+    public void schedule(K key, long deadlineMillis) {
+        Timer<K> timer = new Timer<>(key, Math.ceilDiv(deadlineMillis, tickMillis));
+        timers.put(key, timer);
+        if (timer.dueTick() <= currentTick) {
+            // The current tick's slot has already fired; hand it out on the next advance
+            overdue.add(timer);
+        } else {
+            place(timer);
+        }
+    }
+
+    /**
+     * Remove a key's timer, if any.
+     */
+    public void cancel(K key) {
+        timers.remove(key);
+    }
+
+    public int size() {
+        return timers.size();
+    }
+
+    /**
+     * Move the wheel up to {@code nowMillis} and return the keys whose deadline passed.
+     */
+    public List<K> advance(long nowMillis) {
+        List<K> expired = new ArrayList<>();
+        fire(overdue, expired);
+        overdue.clear();
+
+        long targetTick = Math.floorDiv(nowMillis, tickMillis);
+        while (currentTick < targetTick) {
+            currentTick++;
+
+            // Re-file the upper levels whose lower level just wrapped, top first
+            for (int level = LEVELS - 1; level > 0; level--) {
+                if ((currentTick & ((1L << (SLOT_BITS * level)) - 1)) == 0) {
+                    List<Timer<K>> cascading = drain(level, (int) ((currentTick >> (SLOT_BITS * level)) & SLOT_MASK));
+                    for (Timer<K> timer : cascading) {
+                        if (timers.get(timer.key()) == timer) {
+                            place(timer);
+                        }
+                    }
+                }
+            }
+
+            fire(drain(0, (int) (currentTick & SLOT_MASK)), expired);
+        }
+        return expired;
+    }
+
+    private void fire(List<Timer<K>> due, List<K> expired) {
+        for (Timer<K> timer : due) {
+            if (timers.remove(timer.key(), timer)) {
+                expired.add(timer.key());
+            }
+        }
+    }
+
+    /**
+     * File a timer that is due at or after the current tick. A timer due exactly now
+     * (re-filed while cascading) lands in the level-0 slot about to fire.
+     */
+    private void place(Timer<K> timer) {
+        long dueTick = Math.max(timer.dueTick(), currentTick);
+        long delta = dueTick - currentTick;
+        for (int level = 0; level < LEVELS; level++) {
+            if (delta < 1L << (SLOT_BITS * (level + 1))) {
+                slot(level, (int) ((dueTick >> (SLOT_BITS * level)) & SLOT_MASK)).add(timer);
+                return;
+            }
+        }
+
+        // Beyond the wheel's range: park in the farthest top-level slot, re-filed when it comes up
+        int top = LEVELS - 1;
+        slot(top, (int) (((currentTick >> (SLOT_BITS * top)) - 1) & SLOT_MASK)).add(timer);
+    }
+
+    private List<Timer<K>> slot(int level, int index) {
+        return slots.get(level * SLOTS + index);
+    }
+
+    private List<Timer<K>> drain(int level, int index) {
+        List<Timer<K>> slot = slot(level, index);
+        if (slot.isEmpty()) {
+            return List.of();
+        }
+        List<Timer<K>> drained = new ArrayList<>(slot);
+        slot.clear();
+        return drained;
+    }
+
+    private record Timer<K>(K key, long dueTick) {}
+}
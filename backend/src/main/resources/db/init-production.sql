@@ -288,4 +288,198 @@ CREATE INDEX idx_claim_init_expires_at ON server_claim_initiations(expires_at);
 CREATE INDEX idx_claim_init_status_expires ON server_claim_initiations(status, expires_at);
 
 COMMENT ON TABLE server_claim_initiations IS 'Tracks server claim attempts by users. Multiple users can claim simultaneously; first to verify wins.';
-COMMENT ON COLUMN server_claim_initiations.status IS 'PENDING, VERIFIED, EXPIRED, CANCELLED, CLAIMED_BY_OTHER';
\ No newline at end of file
+COMMENT ON COLUMN server_claim_initiations.status IS 'PENDING, VERIFIED, EXPIRED, CANCELLED, CLAIMED_BY_OTHER';
+-- ============================================================================
+-- V13: Server Trending Scores Table
+-- ============================================================================
+CREATE TABLE server_trending_scores (
+    server_id UUID PRIMARY KEY REFERENCES servers(id) ON DELETE CASCADE,
+    score DOUBLE PRECISION NOT NULL DEFAULT 0,
+    scored_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW()
+);
+
+COMMENT ON TABLE server_trending_scores IS 'Periodic checkpoints of per-server trending scores, reloaded on startup.';
+
+-- ============================================================================
+-- V14: Server Period Votes Table
+-- ============================================================================
+CREATE TABLE server_period_votes (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    server_id UUID NOT NULL REFERENCES servers(id) ON DELETE CASCADE,
+    period_type VARCHAR(10) NOT NULL,
+    period_start DATE NOT NULL,
+    vote_count INTEGER NOT NULL DEFAULT 0,
+    CONSTRAINT uk_period_votes_period_server UNIQUE (period_type, period_start, server_id)
+);
+
+CREATE INDEX idx_period_votes_server_id ON server_period_votes(server_id);
+
+COMMENT ON COLUMN server_period_votes.period_type IS 'WEEK (ISO week, starting Monday) or MONTH';
+
+-- ============================================================================
+-- V15: Partitioned Votes Table and Daily Vote Counts
+-- ============================================================================
+-- Range-partition votes by vote_date (one partition per month) and add per-day rollups.
+-- Partitions are created ahead of time by the application; votes_default catches anything else.
+
+-- Move the existing table aside, freeing its constraint and index names
+ALTER TABLE votes RENAME TO votes_legacy;
+ALTER TABLE votes_legacy RENAME CONSTRAINT votes_pkey TO votes_legacy_pkey;
+ALTER TABLE votes_legacy DROP CONSTRAINT uk_votes_server_user_date;
+DROP INDEX idx_votes_server_id;
+DROP INDEX idx_votes_user_id;
+DROP INDEX idx_votes_voted_at;
+
+-- The partition key has to be part of every unique constraint
+CREATE TABLE votes (
+    id UUID NOT NULL DEFAULT gen_random_uuid(),
+    server_id UUID NOT NULL REFERENCES servers(id) ON DELETE CASCADE,
+    user_id UUID NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    voted_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW(),
+    vote_date DATE NOT NULL DEFAULT CURRENT_DATE,
+    CONSTRAINT votes_pkey PRIMARY KEY (id, vote_date),
+    CONSTRAINT uk_votes_server_user_date UNIQUE (server_id, user_id, vote_date)
+) PARTITION BY RANGE (vote_date);
+
+CREATE INDEX idx_votes_server_id ON votes(server_id);
+CREATE INDEX idx_votes_user_id ON votes(user_id);
+CREATE INDEX idx_votes_voted_at ON votes(voted_at DESC);
+
+CREATE TABLE votes_default PARTITION OF votes DEFAULT;
+
+CREATE OR REPLACE FUNCTION create_votes_partition(month_start DATE) RETURNS TEXT AS $$
+DECLARE
+    start_date DATE := CAST(date_trunc('month', month_start) AS DATE);
+    partition_name TEXT := 'votes_y' || to_char(start_date, 'YYYY') || 'm' || to_char(start_date, 'MM');
+BEGIN
+    EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF votes FOR VALUES FROM (%L) TO (%L)',
+                   partition_name, start_date, CAST(start_date + INTERVAL '1 month' AS DATE));
+    RETURN partition_name;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Detaches monthly partitions that end on or before the cutoff and renames them archived_*
+-- (the rows stay available for export; daily rollups keep the counts)
+CREATE OR REPLACE FUNCTION archive_votes_partitions_before(cutoff DATE) RETURNS INTEGER AS $$
+DECLARE
+    part RECORD;
+    archived INTEGER := 0;
+BEGIN
+    FOR part IN
+        SELECT c.relname
+        FROM pg_inherits i
+        JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = CAST('votes' AS regclass)
+          AND c.relname ~ '^votes_y[0-9]{4}m[0-9]{2}$'
+    LOOP
+        IF to_date(substring(part.relname FROM 8 FOR 4) || substring(part.relname FROM 13 FOR 2) || '01', 'YYYYMMDD')
+               + INTERVAL '1 month' <= cutoff THEN
+            EXECUTE format('ALTER TABLE votes DETACH PARTITION %I', part.relname);
+            EXECUTE format('ALTER TABLE %I RENAME TO %I', part.relname, 'archived_' || part.relname);
+            archived := archived + 1;
+        END IF;
+    END LOOP;
+    RETURN archived;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Partitions from the oldest vote through three months ahead
+DO $$
+DECLARE
+    month_start DATE;
+BEGIN
+    month_start := COALESCE(
+        (SELECT CAST(date_trunc('month', MIN(vote_date)) AS DATE) FROM votes_legacy),
+        CAST(date_trunc('month', CURRENT_DATE) AS DATE));
+    WHILE month_start <= CAST(date_trunc('month', CURRENT_DATE) + INTERVAL '3 months' AS DATE) LOOP
+        PERFORM create_votes_partition(month_start);
+        month_start := CAST(month_start + INTERVAL '1 month' AS DATE);
+    END LOOP;
+END;
+$$;
+
+INSERT INTO votes (id, server_id, user_id, voted_at, vote_date)
+SELECT id, server_id, user_id, voted_at, vote_date FROM votes_legacy;
+
+DROP TABLE votes_legacy;
+
+-- Votes per server and day, maintained by the vote counter flush
+CREATE TABLE vote_daily_counts (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    server_id UUID NOT NULL REFERENCES servers(id) ON DELETE CASCADE,
+    vote_date DATE NOT NULL,
+    vote_count INTEGER NOT NULL DEFAULT 0,
+    CONSTRAINT uk_vote_daily_counts_server_date UNIQUE (server_id, vote_date)
+);
+
+CREATE INDEX idx_vote_daily_counts_vote_date ON vote_daily_counts(vote_date);
+
+INSERT INTO vote_daily_counts (server_id, vote_date, vote_count)
+SELECT server_id, vote_date, COUNT(*)
+FROM votes
+GROUP BY server_id, vote_date;
+
+-- ============================================================================
+-- V16: Servers Rating Sum
+-- ============================================================================
+ALTER TABLE servers ADD COLUMN rating_sum BIGINT NOT NULL DEFAULT 0;
+
+-- ============================================================================
+-- V17: Reviews Keyset Index
+-- ============================================================================
+CREATE INDEX idx_reviews_server_created_id ON reviews(server_id, created_at DESC, id DESC);
+
+-- ============================================================================
+-- V18: Auth Revocations
+-- ============================================================================
+CREATE TABLE auth_revocations (
+    user_id UUID PRIMARY KEY REFERENCES users(id) ON DELETE CASCADE,
+    revoked_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW()
+);
+
+CREATE INDEX idx_auth_revocations_revoked_at ON auth_revocations(revoked_at);
+
+COMMENT ON TABLE auth_revocations IS 'Latest access token revocation per user (ban, role change, logout, password reset).';
+
+-- ============================================================================
+-- V19: Hash Refresh Tokens
+-- ============================================================================
+ALTER TABLE refresh_tokens ADD COLUMN token_hash BYTEA;
+
+UPDATE refresh_tokens SET token_hash = sha256(convert_to(token, 'UTF8'));
+
+ALTER TABLE refresh_tokens ALTER COLUMN token_hash SET NOT NULL;
+ALTER TABLE refresh_tokens ADD CONSTRAINT uk_refresh_tokens_token_hash UNIQUE (token_hash);
+
+DROP INDEX IF EXISTS idx_refresh_tokens_token;
+ALTER TABLE refresh_tokens DROP COLUMN token;
+
+-- ============================================================================
+-- V20: Refresh Tokens Revoked At
+-- ============================================================================
+ALTER TABLE refresh_tokens ADD COLUMN revoked_at TIMESTAMP WITH TIME ZONE;
+
+UPDATE refresh_tokens SET revoked_at = created_at WHERE revoked = true;
+
+CREATE INDEX idx_refresh_tokens_revoked_at ON refresh_tokens(revoked_at) WHERE revoked_at IS NOT NULL;
+
+-- ============================================================================
+-- V21: Server Claim Attempts Completed At
+-- ============================================================================
+ALTER TABLE server_claim_attempts ADD COLUMN completed_at TIMESTAMP WITH TIME ZONE;
+
+UPDATE server_claim_attempts SET completed_at = attempted_at;
+
+-- ============================================================================
+-- V22: Server Cache Changes
+-- ============================================================================
+CREATE TABLE server_cache_changes (
+    id BIGSERIAL PRIMARY KEY,
+    node VARCHAR(32) NOT NULL,
+    server_id UUID,
+    changed_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW()
+);
+
+CREATE INDEX idx_server_cache_changes_changed_at ON server_cache_changes(changed_at);
+
+COMMENT ON COLUMN server_cache_changes.server_id IS 'Changed server, or NULL when every server changed (bulk import, data fix)';
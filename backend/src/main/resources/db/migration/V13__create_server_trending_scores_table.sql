@@ -0,0 +1,9 @@
+-- Checkpoints of the in-memory trending scores (exponentially decayed activity)
+-- score is the decayed value as of scored_at; readers decay it further to the present
+CREATE TABLE server_trending_scores (
+    server_id UUID PRIMARY KEY REFERENCES servers(id) ON DELETE CASCADE,
+    score DOUBLE PRECISION NOT NULL DEFAULT 0,
+    scored_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW()
+);
+
+COMMENT ON TABLE server_trending_scores IS 'Periodic checkpoints of per-server trending scores, reloaded on startup.';
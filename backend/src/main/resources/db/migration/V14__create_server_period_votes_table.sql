@@ -0,0 +1,27 @@
+-- Per-period vote counters for weekly/monthly leaderboards
+-- Maintained incrementally by the vote counter flush; never recomputed from votes
+CREATE TABLE server_period_votes (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    server_id UUID NOT NULL REFERENCES servers(id) ON DELETE CASCADE,
+    period_type VARCHAR(10) NOT NULL,
+    period_start DATE NOT NULL,
+    vote_count INTEGER NOT NULL DEFAULT 0,
+    CONSTRAINT uk_period_votes_period_server UNIQUE (period_type, period_start, server_id)
+);
+
+CREATE INDEX idx_period_votes_server_id ON server_period_votes(server_id);
+
+COMMENT ON COLUMN server_period_votes.period_type IS 'WEEK (ISO week, starting Monday) or MONTH';
+
+-- Backfill the current week and month from existing votes
+INSERT INTO server_period_votes (server_id, period_type, period_start, vote_count)
+SELECT server_id, 'WEEK', CAST(date_trunc('week', CURRENT_DATE) AS DATE), COUNT(*)
+FROM votes
+WHERE vote_date >= date_trunc('week', CURRENT_DATE)
+GROUP BY server_id;
+
+INSERT INTO server_period_votes (server_id, period_type, period_start, vote_count)
+SELECT server_id, 'MONTH', CAST(date_trunc('month', CURRENT_DATE) AS DATE), COUNT(*)
+FROM votes
+WHERE vote_date >= date_trunc('month', CURRENT_DATE)
+GROUP BY server_id;
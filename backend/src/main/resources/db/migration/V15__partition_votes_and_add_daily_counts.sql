@@ -0,0 +1,99 @@
+-- Range-partition votes by vote_date (one partition per month) and add per-day rollups.
+-- Partitions are created ahead of time by the application; votes_default catches anything else.
+
+-- Move the existing table aside, freeing its constraint and index names
+ALTER TABLE votes RENAME TO votes_legacy;
+ALTER TABLE votes_legacy RENAME CONSTRAINT votes_pkey TO votes_legacy_pkey;
+ALTER TABLE votes_legacy DROP CONSTRAINT uk_votes_server_user_date;
+DROP INDEX idx_votes_server_id;
+DROP INDEX idx_votes_user_id;
+DROP INDEX idx_votes_voted_at;
+
+-- The partition key has to be part of every unique constraint
+CREATE TABLE votes (
+    id UUID NOT NULL DEFAULT gen_random_uuid(),
+    server_id UUID NOT NULL REFERENCES servers(id) ON DELETE CASCADE,
+    user_id UUID NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    voted_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW(),
+    vote_date DATE NOT NULL DEFAULT CURRENT_DATE,
+    CONSTRAINT votes_pkey PRIMARY KEY (id, vote_date),
+    CONSTRAINT uk_votes_server_user_date UNIQUE (server_id, user_id, vote_date)
+) PARTITION BY RANGE (vote_date);
+
+CREATE INDEX idx_votes_server_id ON votes(server_id);
+CREATE INDEX idx_votes_user_id ON votes(user_id);
+CREATE INDEX idx_votes_voted_at ON votes(voted_at DESC);
+
+CREATE TABLE votes_default PARTITION OF votes DEFAULT;
+
+CREATE OR REPLACE FUNCTION create_votes_partition(month_start DATE) RETURNS TEXT AS $$
+DECLARE
+    start_date DATE := CAST(date_trunc('month', month_start) AS DATE);
+    partition_name TEXT := 'votes_y' || to_char(start_date, 'YYYY') || 'm' || to_char(start_date, 'MM');
+BEGIN
+    EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF votes FOR VALUES FROM (%L) TO (%L)',
+                   partition_name, start_date, CAST(start_date + INTERVAL '1 month' AS DATE));
+    RETURN partition_name;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Detaches monthly partitions that end on or before the cutoff and renames them archived_*
+-- (the rows stay available for export; daily rollups keep the counts)
+CREATE OR REPLACE FUNCTION archive_votes_partitions_before(cutoff DATE) RETURNS INTEGER AS $$
+DECLARE
+    part RECORD;
+    archived INTEGER := 0;
+BEGIN
+    FOR part IN
+        SELECT c.relname
+        FROM pg_inherits i
+        JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = CAST('votes' AS regclass)
+          AND c.relname ~ '^votes_y[0-9]{4}m[0-9]{2}$'
+    LOOP
+        IF to_date(substring(part.relname FROM 8 FOR 4) || substring(part.relname FROM 13 FOR 2) || '01', 'YYYYMMDD')
+               + INTERVAL '1 month' <= cutoff THEN
+            EXECUTE format('ALTER TABLE votes DETACH PARTITION %I', part.relname);
+            EXECUTE format('ALTER TABLE %I RENAME TO %I', part.relname, 'archived_' || part.relname);
+            archived := archived + 1;
+        END IF;
+    END LOOP;
+    RETURN archived;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Partitions from the oldest vote through three months ahead
+DO $$
+DECLARE
+    month_start DATE;
+BEGIN
+    month_start := COALESCE(
+        (SELECT CAST(date_trunc('month', MIN(vote_date)) AS DATE) FROM votes_legacy),
+        CAST(date_trunc('month', CURRENT_DATE) AS DATE));
+    WHILE month_start <= CAST(date_trunc('month', CURRENT_DATE) + INTERVAL '3 months' AS DATE) LOOP
+        PERFORM create_votes_partition(month_start);
+        month_start := CAST(month_start + INTERVAL '1 month' AS DATE);
+    END LOOP;
+END;
+$$;
+
+INSERT INTO votes (id, server_id, user_id, voted_at, vote_date)
+SELECT id, server_id, user_id, voted_at, vote_date FROM votes_legacy;
+
+DROP TABLE votes_legacy;
+
+-- Votes per server and day, maintained by the vote counter flush
+CREATE TABLE vote_daily_counts (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    server_id UUID NOT NULL REFERENCES servers(id) ON DELETE CASCADE,
+    vote_date DATE NOT NULL,
+    vote_count INTEGER NOT NULL DEFAULT 0,
+    CONSTRAINT uk_vote_daily_counts_server_date UNIQUE (server_id, vote_date)
+);
+
+CREATE INDEX idx_vote_daily_counts_vote_date ON vote_daily_counts(vote_date);
+
+INSERT INTO vote_daily_counts (server_id, vote_date, vote_count)
+SELECT server_id, vote_date, COUNT(*)
+FROM votes
+GROUP BY server_id, vote_date;
@@ -0,0 +1,22 @@
+-- Running sum of review ratings, maintained with atomic deltas alongside review_count.
+-- average_rating is derived from rating_sum / review_count.
+ALTER TABLE servers ADD COLUMN rating_sum BIGINT NOT NULL DEFAULT 0;
+
+-- Servers with reviews: exact aggregates. Imported servers without review rows keep their
+-- imported count and average, with the sum implied by them.
+UPDATE servers s
+SET rating_sum = agg.rating_sum,
+    review_count = agg.review_count,
+    average_rating = ROUND(CAST(agg.rating_sum AS NUMERIC) / agg.review_count, 1)
+FROM (
+    SELECT server_id, COUNT(*) AS review_count, SUM(rating) AS rating_sum
+    FROM reviews
+    GROUP BY server_id
+) agg
+WHERE s.id = agg.server_id;
+
+UPDATE servers
+SET rating_sum = ROUND(average_rating * review_count)
+WHERE average_rating IS NOT NULL
+  AND review_count > 0
+  AND NOT EXISTS (SELECT 1 FROM reviews r WHERE r.server_id = servers.id);
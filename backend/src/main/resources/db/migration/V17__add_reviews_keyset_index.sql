@@ -0,0 +1,2 @@
+-- Keyset pagination of a server's reviews, newest first: (created_at, id) per server
+CREATE INDEX idx_reviews_server_created_id ON reviews(server_id, created_at DESC, id DESC);
@@ -0,0 +1,10 @@
+-- Per-user access token revocations for stateless authentication
+-- Tokens issued at or before revoked_at are rejected; nodes poll this table to stay in sync
+CREATE TABLE auth_revocations (
+    user_id UUID PRIMARY KEY REFERENCES users(id) ON DELETE CASCADE,
+    revoked_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW()
+);
+
+CREATE INDEX idx_auth_revocations_revoked_at ON auth_revocations(revoked_at);
+
+COMMENT ON TABLE auth_revocations IS 'Latest access token revocation per user (ban, role change, logout, password reset).';
@@ -0,0 +1,11 @@
+-- Store refresh tokens as SHA-256 hashes instead of plaintext
+-- Existing tokens keep working: clients still present the plaintext, which hashes to the backfilled value
+ALTER TABLE refresh_tokens ADD COLUMN token_hash BYTEA;
+
+UPDATE refresh_tokens SET token_hash = sha256(convert_to(token, 'UTF8'));
+
+ALTER TABLE refresh_tokens ALTER COLUMN token_hash SET NOT NULL;
+ALTER TABLE refresh_tokens ADD CONSTRAINT uk_refresh_tokens_token_hash UNIQUE (token_hash);
+
+DROP INDEX IF EXISTS idx_refresh_tokens_token;
+ALTER TABLE refresh_tokens DROP COLUMN token;
@@ -0,0 +1,8 @@
+-- Record when a refresh token was revoked, so the purge keeps revoked tokens for a day
+-- after revocation rather than after creation
+ALTER TABLE refresh_tokens ADD COLUMN revoked_at TIMESTAMP WITH TIME ZONE;
+
+-- The revocation time of existing rows is unknown; creation time is the old purge rule
+UPDATE refresh_tokens SET revoked_at = created_at WHERE revoked = true;
+
+CREATE INDEX idx_refresh_tokens_revoked_at ON refresh_tokens(revoked_at) WHERE revoked_at IS NOT NULL;
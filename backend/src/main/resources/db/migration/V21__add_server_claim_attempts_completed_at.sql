@@ -0,0 +1,5 @@
+-- Claim verifications run in the background; an attempt row is written when one starts
+-- and completed_at is set once its outcome is known, so any instance can report it
+ALTER TABLE server_claim_attempts ADD COLUMN completed_at TIMESTAMP WITH TIME ZONE;
+
+UPDATE server_claim_attempts SET completed_at = attempted_at;
@@ -0,0 +1,12 @@
+-- Server cache invalidations shared between nodes
+-- Each node records the server changes it makes and polls for those of the others
+CREATE TABLE server_cache_changes (
+    id BIGSERIAL PRIMARY KEY,
+    node VARCHAR(32) NOT NULL,
+    server_id UUID,
+    changed_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW()
+);
+
+CREATE INDEX idx_server_cache_changes_changed_at ON server_cache_changes(changed_at);
+
+COMMENT ON COLUMN server_cache_changes.server_id IS 'Changed server, or NULL when every server changed (bulk import, data fix)';
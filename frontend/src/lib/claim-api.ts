@@ -46,6 +46,15 @@ export interface VerificationResultResponse {
   message: string;
 }
 
+export type ClaimVerificationJobStatus = 'PENDING' | 'COMPLETED' | 'FAILED';
+
+export interface ClaimVerificationJob {
+  jobId: string | null; // null when the server was already verified and nothing ran
+  status: ClaimVerificationJobStatus;
+  result: VerificationResultResponse | null;
+  error: string | null;
+}
+
 export interface InitiateClaimRequest {
   verificationMethod: VerificationMethod;
 }
@@ -74,6 +83,9 @@ export interface ClaimInitiationResponse {
   timeRemainingPercent: number;
 }
 
+const VERIFICATION_POLL_INTERVAL_MS = 1000;
+const VERIFICATION_POLL_TIMEOUT_MS = 60000;
+
 export const claimApi = {
   /**
    * Get the claim/verification status of a server
@@ -102,15 +114,31 @@ export const claimApi = {
   },
 
   /**
-   * Attempt to verify a server claim
+   * Attempt to verify a server claim.
+   * Verification runs as a background job on the server; this polls it until it finishes.
    */
   async attemptVerification(
     serverId: string,
     method: VerificationMethod
   ): Promise<VerificationResultResponse> {
-    return api.post<VerificationResultResponse>(
+    let job = await api.post<ClaimVerificationJob>(
       `/api/servers/${serverId}/claim/verify?method=${method}`
     );
+    const deadline = Date.now() + VERIFICATION_POLL_TIMEOUT_MS;
+    // Any instance can answer the poll: jobs are persisted with their claim attempt
+    while (job.status === 'PENDING' && job.jobId) {
+      if (Date.now() > deadline) {
+        throw new Error('Verification is taking longer than expected. Please try again.');
+      }
+      await new Promise((resolve) => setTimeout(resolve, VERIFICATION_POLL_INTERVAL_MS));
+      job = await api.get<ClaimVerificationJob>(
+        `/api/servers/${serverId}/claim/verify/${job.jobId}`
+      );
+    }
+    if (job.status === 'FAILED' || !job.result) {
+      throw new Error(job.error ?? 'Verification could not be completed. Please try again.');
+    }
+    return job.result;
   },
 
   /**